@@ -853,4 +853,223 @@ ORDER BY MAX_MESSAGE_NO DESC NULLS LAST;
 		TO_CHAR(ENROLL_DATE, 'YYYY"년" MM"월" DD"일" HH24"시" MI"분" SS"초"') ENROLL_DATE
 		FROM "MEMBER"
 		WHERE MEMBER_EMAIL = 'user01@kh.or.kr'
-		AND MEMBER_DEL_FL = 'N';
\ No newline at end of file
+		AND MEMBER_DEL_FL = 'N';
+
+
+
+----------------------------------------------------------
+/* 게시글 통계(댓글 수, 좋아요 수, 조회 수) 테이블
+ * - 목록 조회 시 게시글마다 COUNT(*) 상관 쿼리를 수행하지 않고
+ *   게시글 1행당 통계 1행을 조인해서 조회
+ * - 댓글 등록/삭제, 좋아요 체크/해제, 조회 수 증가 시 같은 트랜잭션에서 갱신
+ */
+CREATE TABLE "BOARD_STATS" (
+	"BOARD_NO"	NUMBER		NOT NULL,
+	"COMMENT_COUNT"	NUMBER	DEFAULT 0	NOT NULL,
+	"LIKE_COUNT"	NUMBER	DEFAULT 0	NOT NULL,
+	"READ_COUNT"	NUMBER	DEFAULT 0	NOT NULL
+);
+
+COMMENT ON COLUMN "BOARD_STATS"."BOARD_NO" IS '게시글 번호(PK, FK)';
+COMMENT ON COLUMN "BOARD_STATS"."COMMENT_COUNT" IS '삭제되지 않은 댓글 수';
+COMMENT ON COLUMN "BOARD_STATS"."LIKE_COUNT" IS '좋아요 수';
+COMMENT ON COLUMN "BOARD_STATS"."READ_COUNT" IS '조회 수';
+
+ALTER TABLE "BOARD_STATS" ADD CONSTRAINT "PK_BOARD_STATS" PRIMARY KEY (
+	"BOARD_NO"
+);
+
+ALTER TABLE "BOARD_STATS" ADD CONSTRAINT "FK_BOARD_TO_BOARD_STATS_1" FOREIGN KEY (
+	"BOARD_NO"
+)
+REFERENCES "BOARD" (
+	"BOARD_NO"
+);
+
+-- 기존 게시글 통계 채우기 (재계산 작업과 동일)
+MERGE INTO "BOARD_STATS" S
+USING (
+	SELECT B.BOARD_NO, B.READ_COUNT,
+		NVL(C.CNT, 0) COMMENT_COUNT,
+		NVL(L.CNT, 0) LIKE_COUNT
+	FROM "BOARD" B
+	LEFT JOIN (SELECT BOARD_NO, COUNT(*) CNT FROM "COMMENT"
+				WHERE COMMENT_DEL_FL = 'N'
+				GROUP BY BOARD_NO) C ON (C.BOARD_NO = B.BOARD_NO)
+	LEFT JOIN (SELECT BOARD_NO, COUNT(*) CNT FROM "BOARD_LIKE"
+				GROUP BY BOARD_NO) L ON (L.BOARD_NO = B.BOARD_NO)
+) T
+ON (S.BOARD_NO = T.BOARD_NO)
+WHEN MATCHED THEN
+	UPDATE SET S.COMMENT_COUNT = T.COMMENT_COUNT,
+			   S.LIKE_COUNT = T.LIKE_COUNT,
+			   S.READ_COUNT = T.READ_COUNT
+WHEN NOT MATCHED THEN
+	INSERT (BOARD_NO, COMMENT_COUNT, LIKE_COUNT, READ_COUNT)
+	VALUES (T.BOARD_NO, T.COMMENT_COUNT, T.LIKE_COUNT, T.READ_COUNT);
+
+COMMIT;
+
+
+---------------------------------------------------------------------
+/* 댓글 계층 경로(COMMENT_PATH), 삭제되지 않은 자식 댓글 수(LIVE_CHILD_COUNT)
+ * 
+ * - COMMENT_PATH : 최상위 댓글부터 자신까지의 댓글 번호를 10자리로 맞춰 이어붙인 값
+ *   ex) 12번 댓글의 답글 34번 -> '0000000012' || '0000000034'
+ *   -> COMMENT_PATH 오름차순 == CONNECT BY + ORDER SIBLINGS BY COMMENT_NO 순서
+ *   -> (BOARD_NO, COMMENT_PATH) 인덱스 범위 조회 한 번으로 계층 순서대로 조회
+ * 
+ * - LIVE_CHILD_COUNT : 삭제되지 않은 자식 댓글 수 (답글 등록/삭제 시 부모 댓글 갱신)
+ *   -> 삭제된 댓글이라도 살아있는 답글이 있으면 목록에 표시
+ */
+ALTER TABLE "COMMENT" ADD (
+	"COMMENT_PATH"	VARCHAR2(1000),
+	"LIVE_CHILD_COUNT"	NUMBER	DEFAULT 0	NOT NULL
+);
+
+COMMENT ON COLUMN "COMMENT"."COMMENT_PATH" IS '댓글 계층 경로(10자리 댓글 번호 연결)';
+COMMENT ON COLUMN "COMMENT"."LIVE_CHILD_COUNT" IS '삭제되지 않은 자식 댓글 수';
+
+-- 기존 댓글 경로 채우기
+MERGE INTO "COMMENT" C
+USING (
+	SELECT COMMENT_NO,
+		REPLACE(SYS_CONNECT_BY_PATH(LPAD(COMMENT_NO, 10, '0'), '/'), '/') COMMENT_PATH
+	FROM "COMMENT"
+	START WITH PARENT_COMMENT_NO IS NULL
+	CONNECT BY PRIOR COMMENT_NO = PARENT_COMMENT_NO
+) P
+ON (C.COMMENT_NO = P.COMMENT_NO)
+WHEN MATCHED THEN
+	UPDATE SET C.COMMENT_PATH = P.COMMENT_PATH;
+
+-- 기존 댓글의 삭제되지 않은 자식 댓글 수 채우기
+UPDATE "COMMENT" C SET
+LIVE_CHILD_COUNT = (SELECT COUNT(*) FROM "COMMENT" SUB
+					WHERE SUB.PARENT_COMMENT_NO = C.COMMENT_NO
+					AND SUB.COMMENT_DEL_FL = 'N');
+
+ALTER TABLE "COMMENT" MODIFY ("COMMENT_PATH" NOT NULL);
+
+CREATE INDEX "IDX_COMMENT_BOARD_PATH" ON "COMMENT" ("BOARD_NO", "COMMENT_PATH");
+
+COMMIT;
+
+
+/* 참조 해제 이미지 기록 테이블
+ * 
+ * - 게시글 이미지 삭제/변경, 프로필 이미지 변경 시 기존 파일명을 같은 트랜잭션에서 기록
+ *   (롤백되면 기록도 함께 롤백)
+ * - 이미지 정리 스케줄러는 전체 폴더/DB 비교 대신 이 테이블의 파일만 삭제
+ */
+CREATE TABLE "IMAGE_DEREF" (
+	"DEREF_NO"	NUMBER		NOT NULL,
+	"IMG_TYPE"	VARCHAR2(10)		NOT NULL,
+	"IMG_PATH"	VARCHAR2(200)		NOT NULL,
+	"IMG_RENAME"	VARCHAR2(300)		NOT NULL,
+	"DEREF_DATE"	DATE	DEFAULT SYSDATE	NOT NULL,
+	CONSTRAINT "PK_IMAGE_DEREF" PRIMARY KEY ("DEREF_NO"),
+	CONSTRAINT "CK_IMAGE_DEREF_TYPE" CHECK ("IMG_TYPE" IN ('BOARD', 'PROFILE'))
+);
+
+COMMENT ON COLUMN "IMAGE_DEREF"."DEREF_NO" IS '참조 해제 기록 번호(SEQ_DEREF_NO)';
+COMMENT ON COLUMN "IMAGE_DEREF"."IMG_TYPE" IS '이미지 종류(BOARD/PROFILE)';
+COMMENT ON COLUMN "IMAGE_DEREF"."IMG_PATH" IS '이미지 접근 경로';
+COMMENT ON COLUMN "IMAGE_DEREF"."IMG_RENAME" IS '이미지 변경명';
+COMMENT ON COLUMN "IMAGE_DEREF"."DEREF_DATE" IS '참조 해제 시간';
+
+CREATE SEQUENCE SEQ_DEREF_NO NOCACHE;
+
+-- 삭제 직전 재참조 확인용 인덱스
+CREATE INDEX "IDX_BOARD_IMG_RENAME" ON "BOARD_IMG" ("IMG_RENAME");
+CREATE INDEX "IDX_MEMBER_PROFILE_IMG" ON "MEMBER" ("PROFILE_IMG");
+
+COMMIT;
+
+
+/* 내용 해시(SHA-256) 기반 업로드 파일 저장
+ * 
+ * - 변경명 : 해시(16진수 64자리) + 확장자, 같은 내용의 파일은 하나만 저장
+ * - 요청 경로 : 해시 앞 2자리/다음 2자리 하위 폴더 포함 (/images/board/9f/86/)
+ * - 여러 행(BOARD_IMG, MEMBER.PROFILE_IMG, UPLOAD_FILE)이 같은 파일을 참조할 수 있음
+ *   (파일 삭제 전 IDX_BOARD_IMG_RENAME, IDX_MEMBER_PROFILE_IMG 로 다른 참조 확인)
+ * - 기존 파일(20241112100105_xxx.jpg)은 그대로 사용
+ */
+ALTER TABLE "BOARD_IMG" MODIFY ("IMG_RENAME" NVARCHAR2(100));
+
+COMMIT;
+
+
+----------------------------------------------------------
+/* 채팅방 목록 요약 테이블 (회원 1명 x 채팅방 1개 == 1행)
+ * - 목록 조회 시 채팅방마다 마지막 메세지/시간/안 읽은 수/상대 정보
+ *   상관 쿼리를 수행하지 않고 MEMBER_NO 로 요약 행만 조회 (+ 상대 회원 PK 조인)
+ * - 채팅방 생성 시 두 회원의 행 삽입
+ * - 메세지 저장 시 같은 트랜잭션에서 마지막 메세지 갱신 + 받는 회원 NOT_READ_COUNT 증가
+ * - 읽음 처리 시 읽은 회원의 NOT_READ_COUNT = 0
+ * - 상대 닉네임/프로필은 변경될 수 있으므로 저장하지 않고 MEMBER 조인
+ */
+CREATE TABLE "CHATTING_ROOM_SUMMARY" (
+	"MEMBER_NO"	NUMBER		NOT NULL,
+	"CHATTING_ROOM_NO"	NUMBER		NOT NULL,
+	"TARGET_NO"	NUMBER		NOT NULL,
+	"LAST_MESSAGE_NO"	NUMBER		NULL,
+	"LAST_MESSAGE"	VARCHAR2(4000)		NULL,
+	"LAST_SEND_TIME"	DATE	DEFAULT CURRENT_DATE	NOT NULL,
+	"NOT_READ_COUNT"	NUMBER	DEFAULT 0	NOT NULL
+);
+
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."MEMBER_NO" IS '회원 번호(PK)';
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."CHATTING_ROOM_NO" IS '채팅방 번호(PK)';
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."TARGET_NO" IS '채팅 상대 회원 번호';
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."LAST_MESSAGE_NO" IS '마지막 메시지 번호';
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."LAST_MESSAGE" IS '마지막 메시지 내용';
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."LAST_SEND_TIME" IS '마지막 메시지 보낸 시간(메시지 없으면 채팅방 생성일)';
+COMMENT ON COLUMN "CHATTING_ROOM_SUMMARY"."NOT_READ_COUNT" IS '회원이 읽지 않은 메시지 수';
+
+ALTER TABLE "CHATTING_ROOM_SUMMARY" ADD CONSTRAINT "PK_CHATTING_ROOM_SUMMARY" PRIMARY KEY (
+	"MEMBER_NO",
+	"CHATTING_ROOM_NO"
+);
+
+ALTER TABLE "CHATTING_ROOM_SUMMARY" ADD CONSTRAINT "FK_MEMBER_TO_ROOM_SUMMARY_1" FOREIGN KEY (
+	"MEMBER_NO"
+)
+REFERENCES "MEMBER" (
+	"MEMBER_NO"
+);
+
+ALTER TABLE "CHATTING_ROOM_SUMMARY" ADD CONSTRAINT "FK_CHATTING_ROOM_TO_SUMMARY_1" FOREIGN KEY (
+	"CHATTING_ROOM_NO"
+)
+REFERENCES "CHATTING_ROOM" (
+	"CHATTING_ROOM_NO"
+);
+
+-- 메세지 저장 시 채팅방의 요약 행(2개) 갱신
+CREATE INDEX "IDX_ROOM_SUMMARY_ROOM" ON "CHATTING_ROOM_SUMMARY" ("CHATTING_ROOM_NO");
+
+-- 채팅방의 마지막 메세지 번호 조회 (MAX -> 인덱스 끝 1건), 채팅방 메세지 조회
+CREATE INDEX "IDX_MESSAGE_ROOM" ON "MESSAGE" ("CHATTING_ROOM_NO", "MESSAGE_NO");
+
+-- 기존 채팅방 요약 채우기 (개설자, 참여자 각각 1행)
+INSERT INTO "CHATTING_ROOM_SUMMARY"
+	(MEMBER_NO, CHATTING_ROOM_NO, TARGET_NO, LAST_MESSAGE_NO, LAST_MESSAGE, LAST_SEND_TIME, NOT_READ_COUNT)
+SELECT R.MEMBER_NO, R.CHATTING_ROOM_NO, R.TARGET_NO,
+	L.MESSAGE_NO, L.MESSAGE_CONTENT, NVL(L.SEND_TIME, R.CREATE_DATE),
+	(SELECT COUNT(*) FROM "MESSAGE" M
+	 WHERE M.CHATTING_ROOM_NO = R.CHATTING_ROOM_NO
+	 AND M.READ_FL = 'N'
+	 AND M.SENDER_NO != R.MEMBER_NO)
+FROM (
+	SELECT CHATTING_ROOM_NO, CREATE_DATE, OPEN_MEMBER MEMBER_NO, PARTICIPANT TARGET_NO FROM "CHATTING_ROOM"
+	UNION ALL
+	SELECT CHATTING_ROOM_NO, CREATE_DATE, PARTICIPANT, OPEN_MEMBER FROM "CHATTING_ROOM"
+) R
+LEFT JOIN (
+	SELECT CHATTING_ROOM_NO, MESSAGE_NO, MESSAGE_CONTENT, SEND_TIME,
+		ROW_NUMBER() OVER(PARTITION BY CHATTING_ROOM_NO ORDER BY MESSAGE_NO DESC) RN
+	FROM "MESSAGE"
+) L ON (L.CHATTING_ROOM_NO = R.CHATTING_ROOM_NO AND L.RN = 1);
+
+COMMIT;
@@ -0,0 +1,88 @@
+package edu.kh.project.admin.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.SessionAttribute;
+
+import edu.kh.project.board.model.service.BoardDetailCache;
+import edu.kh.project.board.model.service.BoardTypeRegistry;
+import edu.kh.project.image.model.service.ImageVariantStore;
+import edu.kh.project.member.model.dto.Member;
+import lombok.RequiredArgsConstructor;
+
+/** 관리자 전용 요청 처리 (AUTHORITY == 2 인 회원만 가능) */
+@Controller
+@RequestMapping("admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+	private final BoardDetailCache boardDetailCache;
+	
+	private final BoardTypeRegistry boardTypeRegistry;
+	
+	private final ImageVariantStore imageVariantStore;
+	
+	
+	/** 게시글 상세 조회 캐시 통계 (비동기)
+	 * @param loginMember
+	 * @return hitCount, missCount, hitRate, evictionCount, size, bytes, maxBytes
+	 */
+	@GetMapping("cache/boardDetail")
+	public ResponseEntity<Map<String, Object>> boardDetailCacheStats(
+			@SessionAttribute(value="loginMember", required=false) Member loginMember) {
+		
+		if(!isAdmin(loginMember)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		
+		return ResponseEntity.ok(boardDetailCache.getStats());
+	}
+	
+	
+	/** 축소 이미지 캐시 통계 (비동기)
+	 * @param loginMember
+	 * @return hits, misses, files, bytes, maxBytes
+	 */
+	@GetMapping("cache/imageVariant")
+	public ResponseEntity<Map<String, Object>> imageVariantCacheStats(
+			@SessionAttribute(value="loginMember", required=false) Member loginMember) {
+		
+		if(!isAdmin(loginMember)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		
+		return ResponseEntity.ok(imageVariantStore.getStats());
+	}
+	
+	
+	/** 게시판 종류 즉시 다시 조회 (비동기)
+	 * @param loginMember
+	 * @return 현재 게시판 종류 버전
+	 */
+	@PostMapping("boardType/reload")
+	public ResponseEntity<Long> reloadBoardType(
+			@SessionAttribute(value="loginMember", required=false) Member loginMember) {
+		
+		if(!isAdmin(loginMember)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		
+		return ResponseEntity.ok(boardTypeRegistry.reload());
+	}
+	
+	
+	/** 관리자 여부 확인
+	 * @param loginMember
+	 * @return AUTHORITY == 2 인 경우 true
+	 */
+	private boolean isAdmin(Member loginMember) {
+		return loginMember != null && loginMember.getAuthority() == 2;
+	}
+	
+}
@@ -1,8 +1,5 @@
 package edu.kh.project.board.controller;
 
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,10 +18,10 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import edu.kh.project.board.model.dto.Board;
 import edu.kh.project.board.model.dto.BoardImg;
 import edu.kh.project.board.model.service.BoardService;
+import edu.kh.project.board.model.service.BoardTypeRegistry;
+import edu.kh.project.common.dedup.ViewDedupStore;
 import edu.kh.project.member.model.dto.Member;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,12 +32,20 @@ import lombok.extern.slf4j.Slf4j;
 public class BoardController {
 
 	private final BoardService service;
+	
+	// 조회 중복 판별 저장소
+	private final ViewDedupStore viewDedupStore;
+	
+	// 게시판 종류 저장소 (게시판 코드 -> 이름)
+	private final BoardTypeRegistry boardTypeRegistry;
 
 	/**
 	 * 게시글 목록 조회
 	 * 
 	 * @param boardCode : 게시판 종류 구분 번호 (1/2/3..)
 	 * @param cp        : 현재 조회 요청한 페이지 번호 (없으면 1)
+	 * @param cursor    : keyset 방식 조회 시 기준 게시글 번호 (없으면 페이지 번호 방식)
+	 * @param dir       : keyset 방식 조회 방향 (next / prev)
 	 * @param paramMap(검색할때 추가) : 제출된 파라미터가 모두 저장된 Map (검색 시, key와 query 담겨 있음)
 	 * 								ex )  {key=t, query=짱구} 
 	 * @return
@@ -59,6 +64,8 @@ public class BoardController {
 	@GetMapping("{boardCode:[0-9]+}")
 	public String selectBoardList(@PathVariable("boardCode") int boardCode,
 								@RequestParam(value = "cp", required = false, defaultValue = "1") int cp, 
+								@RequestParam(value = "cursor", required = false) Integer cursor,
+								@RequestParam(value = "dir", required = false, defaultValue = "next") String dir,
 								Model model,
 								@RequestParam Map<String, Object> paramMap
 								) {
@@ -70,8 +77,15 @@ public class BoardController {
 		// 검색이 아닌 경우 --> paramMap은 {}
 		if(paramMap.get("key") == null) {
 			
-			// 게시글 목록 조회 서비스 호출
-			map = service.selectBoardList(boardCode, cp);
+			if(cursor == null) {
+				// 게시글 목록 조회 서비스 호출
+				map = service.selectBoardList(boardCode, cp);
+				
+			} else {
+				// 커서(cursor)가 전달된 경우 --> keyset 방식 목록 조회
+				// ex) /board/1?cp=501&cursor=12345&dir=next
+				map = service.selectBoardList(boardCode, cp, cursor, dir);
+			}
 			
 		} else {
 			// 검색인 경우 		--> paramMap은 {key=t, query=짱구} 
@@ -90,6 +104,7 @@ public class BoardController {
 
 		model.addAttribute("pagination", map.get("pagination"));
 		model.addAttribute("boardList", map.get("boardList"));
+		model.addAttribute("boardName", boardTypeRegistry.getBoardName(boardCode));
 
 		System.out.println("검색어: " + paramMap);  // query 값 출력 (디버깅용)
 		// forward : boardList.html
@@ -107,8 +122,7 @@ public class BoardController {
 							Model model,
 							RedirectAttributes ra,
 							@SessionAttribute(value="loginMember", required = false) Member loginMember,
-							HttpServletRequest req,   // 요청에 담긴 쿠키 얻어오기
-							HttpServletResponse resp  // 새로운 쿠키 만들어서 응답하기
+							HttpServletRequest req    // 조회자 식별(ip, User-Agent)
 							) {
 		
 		// 게시글 상세 조회 서비스 호출
@@ -137,85 +151,29 @@ public class BoardController {
 			ra.addFlashAttribute("message", "게시글이 존재하지 않습니다");
 		
 		} else {
-			/* --------------- 쿠키를 이용한 조회 수 증가 -------------------------*/
+			/* --------------- 조회 중복 판별 저장소를 이용한 조회 수 증가 -------------------------*/
 			
 			// 비회원 또는 로그인한 회원의 글이 아닌 경우 ( == 글쓴이를 뺀 다른 사람)
 			if(loginMember == null || 
 					loginMember.getMemberNo() != board.getMemberNo()) {
 				
+				// 조회자 식별값
+				// - 회원 : 회원 번호
+				// - 비회원 : ip + User-Agent
+				String viewerKey = loginMember != null 
+						? "M" + loginMember.getMemberNo()
+						: "G" + req.getRemoteAddr() + "|" + req.getHeader("User-Agent");
 				
-				// 요청에 담겨있는 모든 쿠키 얻어오기
-				Cookie[] cookies = req.getCookies();
-				
-				Cookie c = null;
-				
-				for(Cookie temp : cookies) {
-					
-					// 요청에 담긴 쿠키에 "readBoardNo" 가 존재 할 때
-					if(temp.getName().equals("readBoardNo")) {
-						c = temp;
-						break;
-					}
-					
-				}
-				
-				
-				int result = 0; // 조회수 증가 결과를 저장할 변수
-				
-				// "readBoardNo"가 쿠키에 없을 때
-				if(c == null) {
-					
-					// 새 쿠키 생성("readBoardNo", [게시글번호])
-					c = new Cookie("readBoardNo", "["+  boardNo + "]");
-					result = service.updateReadCount(boardNo);
-					
-				} else {
-				// "readBoardNo"가 쿠키에 있을 때
-				// "readBoardNo" : [2][30][400][2000][4000]
-					
-				// 현재 글을 처음 읽는 경우
-					if(c.getValue().indexOf("["+  boardNo + "]") == -1) {
-						
-						// 해당 글 번호를 쿠키에 누적 + 서비스 호출
-						c.setValue(c.getValue() + "["+  boardNo + "]");
-						// [2][30][400][2000][4000][2003]
-						result = service.updateReadCount(boardNo);
-					}
-					
-					
-				}
-				
-				// 조회 수 증가 성공 / 조회 성공 시
-				if(result > 0) {
+				// 오늘 처음 조회한 게시글인 경우에만 조회 수 증가
+				if(viewDedupStore.markViewed(viewerKey, boardNo)) {
 					
 					// 먼저 조회된 board의 readCount 값을
-					// result 값을 다시 세팅
-					board.setReadCount(result);
-					
-					// 쿠키 적용 경로 설정
-					c.setPath("/");   // "/" 이하 경로 요청 시 쿠키 서버로 전달
-					
-					// 쿠키 수명 지정
-					// 현재 시간을 얻어오기
-					LocalDateTime now = LocalDateTime.now();
-					
-					// 다음날 자정  지정
-					LocalDateTime nextDayMidnight = now.plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-					
-					// 다음날 자정까지 남은 시간 계산 (초 단위)
-					long secondsUntilNextDay = Duration.between(now, nextDayMidnight).getSeconds();
-					
-					// 쿠키 수명 설정
-					c.setMaxAge((int)secondsUntilNextDay);
-					
-					resp.addCookie(c); // 응답 객체를 이용해서 클라이언트에게 전달
+					// 증가된 값으로 다시 세팅
+					board.setReadCount(service.updateReadCount(board));
 				}
-				
-				
-				
 			}
 			
-			/* --------------------------- 쿠키를 이용한 조회 수 증가 끝 -----------------------------*/
+			/* --------------------------- 조회 수 증가 끝 -----------------------------*/
 			
 			// 조회 결과가 있는 경우
 			path = "board/boardDetail"; // boardDetail.html 로  forward
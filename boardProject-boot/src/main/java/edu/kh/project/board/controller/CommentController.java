@@ -1,6 +1,6 @@
 package edu.kh.project.board.controller;
 
-import java.util.List;
+import java.util.Map;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,16 +42,38 @@ public class CommentController {
 	private final CommentService service;
 	
 	
-	/** 댓글 목록 조회
+	/** 댓글 목록 페이지 조회 (최상위 댓글 기준)
+	 * ex) /comment?boardNo=2001&cursor=0000000123&size=20
 	 * @param boardNo
-	 * @return
+	 * @param cursor : 이전 페이지 마지막 최상위 댓글 경로 (첫 페이지면 생략)
+	 * @param size : 최상위 댓글 수 (생략 시 기본값)
+	 * @return {commentList, cursor}
 	 */
 	@GetMapping("")
-	public List<Comment> select(@RequestParam("boardNo") int boardNo) {
+	public Map<String, Object> select(@RequestParam("boardNo") int boardNo,
+						@RequestParam(value="cursor", required=false) String cursor,
+						@RequestParam(value="size", required=false, defaultValue="0") int size) {
 		
 		// HttpMessageConverter가
-		// List -> JSON(문자열)로 변환해서 응답 -> JS
-		return service.select(boardNo);
+		// Map -> JSON(문자열)로 변환해서 응답 -> JS
+		return service.selectPage(boardNo, cursor, size);
+	}
+	
+	/** 답글 페이지 조회 (답글 더보기)
+	 * ex) /comment/reply?boardNo=2001&rootNo=123&cursor=00000001230000000456
+	 * @param boardNo
+	 * @param rootNo : 최상위 댓글 번호
+	 * @param cursor : 이전에 조회된 마지막 답글 경로 (처음이면 생략)
+	 * @param size : 답글 수 (생략 시 기본값)
+	 * @return {commentList, cursor}
+	 */
+	@GetMapping("reply")
+	public Map<String, Object> selectReply(@RequestParam("boardNo") int boardNo,
+						@RequestParam("rootNo") int rootNo,
+						@RequestParam(value="cursor", required=false) String cursor,
+						@RequestParam(value="size", required=false, defaultValue="0") int size) {
+		
+		return service.selectReplyPage(boardNo, rootNo, cursor, size);
 	}
 	
 	/** 댓글/답글 등록
@@ -19,6 +19,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import edu.kh.project.board.model.dto.Board;
 import edu.kh.project.board.model.service.BoardService;
+import edu.kh.project.board.model.service.BoardTypeRegistry;
 import edu.kh.project.board.model.service.EditBoardService;
 import edu.kh.project.member.model.dto.Member;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,7 @@ public class EditBoardController {
 	
 	private final EditBoardService service;
 	private final BoardService boardService;
+	private final BoardTypeRegistry boardTypeRegistry;
 	
 	
 	/** 게시글 작성 화면 전환
@@ -164,6 +166,7 @@ public class EditBoardController {
 			
 			path = "board/boardUpdate";   //   templates/board/boardUpdate.html 로 forward 
 			model.addAttribute("board", board);
+			model.addAttribute("boardName", boardTypeRegistry.getBoardName(boardCode));
 		}
 		
 		return path;
@@ -14,7 +14,7 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
-@Builder
+@Builder(toBuilder = true)
 public class Board {
 	// BOARD 테이블 컬럼
 	private int boardNo;
@@ -44,9 +44,12 @@ public class Board {
 	// 특정 게시글 이미지 목록
 	private List<BoardImg> imageList;
 	
-	// 특정 게시글에 작성된 댓글 목록
+	// 특정 게시글에 작성된 댓글 목록 (첫 페이지)
 	private List<Comment> commentList;
 	
+	// 댓글 다음 페이지 조회 기준 (null == 다음 페이지 없음)
+	private String commentCursor;
+	
 	// 좋아요 여부 확인
 	private int likeCheck;
 	
@@ -26,4 +26,10 @@ public class Comment {
 	// 댓글 조회 시 회원 프로필, 닉네임
 	private String memberNickname;
 	private String profileImg;
+	
+	// 댓글 계층 경로 (답글 페이지 조회 기준)
+	private String commentPath;
+	
+	// 최상위 댓글 아래 조회 가능한 전체 답글 수
+	private int replyCount;
 }
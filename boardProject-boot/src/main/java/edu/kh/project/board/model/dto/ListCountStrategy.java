@@ -0,0 +1,12 @@
+package edu.kh.project.board.model.dto;
+
+/** 목록 조회 시 전체 게시글 수(Pagination.listCount) 조회 방식
+ * 
+ * - EXACT     : 매번 COUNT(*) 조회
+ * - CACHED    : COUNT(*) 결과를 일정 시간 저장해서 사용 (게시글 작성/삭제 시 제거)
+ * - ESTIMATED : COUNT(*) 생략, 한 페이지 + 1 행을 조회해서 다음 페이지 존재 여부만 확인
+ *               (마지막 페이지 번호 == 현재 페이지 또는 현재 페이지 + 1)
+ */
+public enum ListCountStrategy {
+	EXACT, CACHED, ESTIMATED
+}
@@ -24,6 +24,12 @@ public class Pagination {
 	private int prevPage;			// 이전 페이지 모음의 마지막 번호 
 	private int nextPage;			// 다음 페이지 모음의 시작 번호 
 
+	// keyset(seek) 방식 페이징 시 사용하는 커서 (게시글 번호, 0 == 이동할 페이지 없음)
+	private int prevCursor;			// 이전 페이지 조회 기준 (현재 페이지 첫 글 번호)
+	private int nextCursor;			// 다음 페이지 조회 기준 (현재 페이지 마지막 글 번호)
+	
+	// 전체 게시글 수(listCount) 조회 방식
+	private ListCountStrategy countStrategy = ListCountStrategy.EXACT;
 	
 	// 기본 생성자 X (필요없음) -> 페이지네이션 계산 X
 	
@@ -92,6 +98,27 @@ public class Pagination {
 		return nextPage;
 	}
 
+
+	public int getPrevCursor() {
+		return prevCursor;
+	}
+
+
+	public int getNextCursor() {
+		return nextCursor;
+	}
+
+
+	public ListCountStrategy getCountStrategy() {
+		return countStrategy;
+	}
+
+
+	// 다음 페이지 존재 여부
+	public boolean isHasMore() {
+		return currentPage < maxPage;
+	}
+
 	// setter
 	public void setCurrentPage(int currentPage) {
 		this.currentPage = currentPage;
@@ -119,13 +146,43 @@ public class Pagination {
 		
 		calculate();
 	}
+	
+	
+	// 커서는 조회된 목록으로 결정되므로 calculate() 대상 X
+	public void setPrevCursor(int prevCursor) {
+		this.prevCursor = prevCursor;
+	}
+
+
+	public void setNextCursor(int nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+	
+	
+	public void setCountStrategy(ListCountStrategy countStrategy) {
+		this.countStrategy = countStrategy;
+	}
+	
+	
+	/** 전체 게시글 수를 모르는 경우(ESTIMATED)
+	 *  현재 페이지까지의 게시글 수 + 현재 페이지에서 조회된 행 수로 listCount 계산
+	 *  (limit + 1 행 조회 시 다음 페이지까지 표시)
+	 * @param fetchCount : 현재 페이지에서 조회된 행 수 (최대 limit + 1)
+	 */
+	public void setEstimatedCount(int fetchCount) {
+		this.countStrategy = ListCountStrategy.ESTIMATED;
+		this.listCount = (currentPage - 1) * limit + fetchCount;
+		
+		calculate();
+	}
 
 
 	@Override
 	public String toString() {
 		return "Pagination [currentPage=" + currentPage + ", listCount=" + listCount + ", limit=" + limit
 				+ ", pageSize=" + pageSize + ", maxPage=" + maxPage + ", startPage=" + startPage + ", endPage="
-				+ endPage + ", prevPage=" + prevPage + ", nextPage=" + nextPage + "]";
+				+ endPage + ", prevPage=" + prevPage + ", nextPage=" + nextPage + ", prevCursor=" + prevCursor
+				+ ", nextCursor=" + nextCursor + ", countStrategy=" + countStrategy + "]";
 	}
 	
 	
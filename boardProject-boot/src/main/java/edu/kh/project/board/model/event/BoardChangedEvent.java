@@ -0,0 +1,30 @@
+package edu.kh.project.board.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/** 게시글 변경 이벤트
+ * 
+ * - 게시글/이미지/댓글을 수정하는 서비스에서 발행(ApplicationEventPublisher)
+ * - 게시글 캐시 등 게시글 내용을 복사해두는 곳에서 받아서 갱신/삭제
+ *   (@TransactionalEventListener 이용 시 커밋된 후에만 전달됨)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BoardChangedEvent {
+
+	/** 변경 종류 */
+	public enum ChangeType {
+		INSERT,  // 게시글 작성
+		UPDATE,  // 게시글 제목/내용/이미지 수정
+		DELETE,  // 게시글 삭제
+		COMMENT  // 댓글 등록/수정/삭제
+	}
+	
+	private int boardCode;
+	private int boardNo;
+	private ChangeType type;
+	
+}
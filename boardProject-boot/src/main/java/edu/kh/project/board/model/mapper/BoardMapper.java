@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
 import edu.kh.project.board.model.dto.Board;
@@ -29,29 +30,48 @@ public interface BoardMapper {
 	 */
 	List<Board> selectBoardList(int boardCode, RowBounds rowBounds);
 
+	/** 특정 게시판의 목록 조회 (keyset 방식)
+	 * @param paramMap : boardCode, cursor, direction, fetchSize
+	 * @return boardList
+	 */
+	List<Board> selectBoardListByCursor(Map<String, Object> paramMap);
+
 	/** 게시글 상세 조회
 	 * @param map
 	 * @return board
 	 */
 	Board selectOne(Map<String, Integer> map);
 
-	/** 좋아요 해제(DELETE)
-	 * @param map
-	 * @return
+	/** 캐시된 게시글에 덮어씌울 조회 수, 좋아요 수/여부 조회
+	 * @param map : boardCode, boardNo, memberNo(로그인 시)
+	 * @return boardNo, readCount, likeCount, likeCheck (삭제된 게시글이면 null)
 	 */
-	int deleteBoardLike(Map<String, Integer> map);
+	Board selectBoardOverlay(Map<String, Integer> map);
 
-	/** 좋아요 체크(INSERT)
-	 * @param map
-	 * @return
+
+	/** 게시글 좋아요 회원 번호 목록 조회
+	 * @param boardNo
+	 * @return memberNoList
 	 */
-	int insertBoardLike(Map<String, Integer> map);
+	List<Integer> selectLikeMemberList(int boardNo);
 
-	/** 게시글 좋아요 개수 조회
-	 * @param temp
-	 * @return
+	/** 좋아요 일괄 해제(DELETE)
+	 * @param likeList : {boardNo, memberNo} 목록
+	 * @return result
+	 */
+	int deleteBoardLikeBatch(List<Map<String, Integer>> likeList);
+
+	/** 좋아요 일괄 체크(MERGE)
+	 * @param likeList : {boardNo, memberNo} 목록
+	 * @return result
+	 */
+	int mergeBoardLikeBatch(List<Map<String, Integer>> likeList);
+
+	/** 게시글 통계 좋아요 수 재계산
+	 * @param boardNoList
+	 * @return result
 	 */
-	int selectLikeCount(int boardNo);
+	int updateLikeCountBatch(List<Integer> boardNoList);
 
 	/** 조회 수 1 증가
 	 * @param boardNo
@@ -59,6 +79,24 @@ public interface BoardMapper {
 	 */
 	int updateReadCount(int boardNo);
 
+	/** 게시글 통계 조회 수 1 증가
+	 * @param boardNo
+	 * @return result
+	 */
+	int updateStatsReadCount(int boardNo);
+
+	/** 누적된 조회 수 증가분 일괄 반영
+	 * @param deltaList : [{boardNo, delta}, ...]
+	 * @return result
+	 */
+	int updateReadCountBatch(List<Map<String, Object>> deltaList);
+
+	/** 게시글 통계 조회 수 증가분 일괄 반영
+	 * @param deltaList : [{boardNo, delta}, ...]
+	 * @return result
+	 */
+	int updateStatsReadCountBatch(List<Map<String, Object>> deltaList);
+
 	/** 조회 수 조회
 	 * @param boardNo
 	 * @return
@@ -78,9 +116,37 @@ public interface BoardMapper {
 	 */
 	List<Board> selectSearchList(Map<String, Object> paramMap, RowBounds rowBounds);
 
+	/** 검색 색인 결과(게시글 번호 목록)로 목록 조회
+	 * @param boardNoList
+	 * @return boardList (순서 보장 X)
+	 */
+	List<Board> selectBoardListByNo(List<Integer> boardNoList);
+
+	/** 검색 색인 결과 중 검색 조건(LIKE)이 맞는 게시글 번호 조회
+	 * @param paramMap : key, query, boardCode, boardNoList (최대 1000개)
+	 * @return 검색 조건이 맞는 게시글 번호 (순서 보장 X)
+	 */
+	List<Integer> selectSearchMatch(Map<String, Object> paramMap);
+
+	/** 검색 색인할 전체 게시글 조회
+	 * @param handler : 조회된 게시글을 한 행씩 처리할 객체
+	 */
+	void selectSearchSource(ResultHandler<Board> handler);
+
+	/** 검색 색인할 게시글 1개 조회
+	 * @param boardNo
+	 * @return board (boardNo, boardCode, boardTitle, boardContent, memberNickname) 또는 null
+	 */
+	Board selectSearchDocument(int boardNo);
+
+	/** 게시글 통계 재계산
+	 * @return result (갱신/삽입된 행의 개수)
+	 */
+	int rebuildBoardStats();
+
 	/** DB 이미지 파일명 목록 조회
-	 * @return
+	 * @param handler : 조회된 파일명을 한 행씩 처리할 객체
 	 */
-	List<String> selectDbImageList();
+	void selectDbImageList(ResultHandler<String> handler);
 
 }
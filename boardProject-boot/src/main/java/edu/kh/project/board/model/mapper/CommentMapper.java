@@ -1,6 +1,7 @@
 package edu.kh.project.board.model.mapper;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 
@@ -9,11 +10,17 @@ import edu.kh.project.board.model.dto.Comment;
 @Mapper
 public interface CommentMapper {
 
-	/** 댓글 목록 조회
-	 * @param boardNo
-	 * @return
+	/** 댓글 목록 페이지 조회 (최상위 댓글 기준)
+	 * @param paramMap : boardNo, cursor(최상위 댓글 경로, 첫 페이지면 null), size, replySize
+	 * @return commentList (계층 순서)
+	 */
+	List<Comment> selectRootPage(Map<String, Object> paramMap);
+
+	/** 답글 페이지 조회
+	 * @param paramMap : boardNo, rootPath, cursor(답글 경로), fetchSize
+	 * @return commentList (계층 순서)
 	 */
-	List<Comment> select(int boardNo);
+	List<Comment> selectReplyPage(Map<String, Object> paramMap);
 
 	/** 댓글/답글 등록
 	 * @param comment
@@ -21,12 +28,30 @@ public interface CommentMapper {
 	 */
 	int insert(Comment comment);
 
+	/** 부모 댓글의 삭제되지 않은 자식 댓글 수 변경
+	 * @param map : commentNo(자식 댓글 번호), delta(1 / -1)
+	 * @return result (최상위 댓글이면 0)
+	 */
+	int updateParentLiveChildCount(Map<String, Integer> map);
+
 	/** 댓글 삭제
 	 * @param commentNo
 	 * @return
 	 */
 	int delete(int commentNo);
 
+	/** 댓글이 작성된 게시글 번호 조회
+	 * @param commentNo
+	 * @return boardNo
+	 */
+	int selectBoardNo(int commentNo);
+
+	/** 게시글 통계 댓글 수 변경
+	 * @param map : boardNo, delta(1 / -1)
+	 * @return result
+	 */
+	int updateCommentCount(Map<String, Integer> map);
+
 	/** 댓글 수정
 	 * @param comment
 	 * @return
@@ -17,6 +17,12 @@ public interface EditBoardMapper {
 	 */
 	int boardInsert(Board inputBoard);
 
+	/** 게시글 통계 행 삽입
+	 * @param boardNo
+	 * @return result
+	 */
+	int insertBoardStats(int boardNo);
+
 	/** 게시글 이미지 모두 삽입
 	 * @param uploadList
 	 * @return result
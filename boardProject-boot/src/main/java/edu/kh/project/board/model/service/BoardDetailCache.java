@@ -0,0 +1,262 @@
+package edu.kh.project.board.model.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.dto.BoardImg;
+import edu.kh.project.board.model.dto.Comment;
+import edu.kh.project.board.model.event.BoardChangedEvent;
+import edu.kh.project.board.model.event.BoardChangedEvent.ChangeType;
+import edu.kh.project.member.model.event.MemberChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시글 상세 조회 캐시
+ * 
+ * - 게시글의 변하지 않는 부분(제목, 내용, 이미지 목록, 댓글 목록)만 저장
+ *   (조회 수, 좋아요 수/여부는 조회할 때마다 덮어씌움)
+ * - 저장된 게시글의 예상 메모리 크기 합이 max-bytes 를 넘으면
+ *   가장 오래 사용되지 않은 게시글부터 제거(LRU)
+ * - 게시글/댓글이 변경되면 커밋 후 BoardChangedEvent 를 받아서 제거
+ * - 작성자/댓글 작성자의 닉네임, 프로필 이미지가 변경되면 커밋 후 MemberChangedEvent 를 받아서 제거
+ * - 저장 후 max-age 가 지난 게시글은 조회하지 않고 제거
+ *   (이벤트로 제거되지 않은 변경(회원 탈퇴, DB 직접 수정 등)도 일정 시간 후 반영)
+ */
+@Slf4j
+@Component
+public class BoardDetailCache {
+
+	// 캐시에 저장할 게시글 예상 크기 합의 최대값(byte)
+	@Value("${my.board.detail-cache.max-bytes:67108864}")
+	private long maxBytes;
+	
+	// 게시글 최대 저장 시간(ms)
+	@Value("${my.board.detail-cache.max-age:600000}")
+	private long maxAge;
+	
+	// accessOrder = true : 조회(get)된 순서로 정렬 -> 첫번째 항목이 가장 오래 사용되지 않은 게시글
+	private final LinkedHashMap<Integer, Entry> map = new LinkedHashMap<>(256, 0.75f, true);
+	
+	// 저장된 게시글 예상 크기 합
+	private long totalBytes;
+	
+	// 캐시 제거 횟수 (조회 중 변경된 게시글이 저장되는 것을 막기 위한 버전)
+	private final AtomicLong version = new AtomicLong();
+	
+	// 통계
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	
+	
+	/** 캐시된 게시글 조회
+	 * @param boardNo
+	 * @return 캐시된 게시글(수정 금지) 또는 null
+	 */
+	public Board get(int boardNo) {
+		
+		Entry entry;
+		
+		synchronized (map) {
+			
+			entry = map.get(boardNo);
+			
+			// 최대 저장 시간이 지난 게시글 제거
+			if(entry != null && System.currentTimeMillis() - entry.loadedAt >= maxAge) {
+				map.remove(boardNo);
+				totalBytes -= entry.bytes;
+				evictionCount.increment();
+				entry = null;
+			}
+		}
+		
+		if(entry == null) {
+			missCount.increment();
+			return null;
+		}
+		
+		hitCount.increment();
+		return entry.board;
+	}
+	
+	
+	/** DB 조회 전 현재 버전 조회 (put 호출 시 전달) */
+	public long version() {
+		return version.get();
+	}
+	
+	
+	/** 게시글 저장
+	 * - DB 조회 이후 제거(evict)가 있었다면 오래된 내용일 수 있으므로 저장하지 않음
+	 * @param board : DB에서 조회된 게시글
+	 * @param loadedVersion : DB 조회 전 version() 값
+	 */
+	public void put(Board board, long loadedVersion) {
+		
+		// 목록은 여러 요청이 함께 사용하므로 수정할 수 없는 복사본으로 저장
+		Board copy = board.toBuilder()
+				.imageList(List.copyOf(board.getImageList()))
+				.commentList(List.copyOf(board.getCommentList()))
+				.build();
+		
+		long bytes = estimateBytes(copy);
+		
+		// 너무 큰 게시글은 저장하지 않음
+		if(bytes > maxBytes / 8) return;
+		
+		synchronized (map) {
+			
+			if(loadedVersion != version.get()) return;
+			
+			Entry old = map.put(copy.getBoardNo(), new Entry(copy, bytes, System.currentTimeMillis()));
+			
+			if(old != null) totalBytes -= old.bytes;
+			totalBytes += bytes;
+			
+			// 최대 크기를 넘으면 가장 오래 사용되지 않은 게시글부터 제거
+			Iterator<Entry> it = map.values().iterator();
+			
+			while(totalBytes > maxBytes && it.hasNext()) {
+				totalBytes -= it.next().bytes;
+				it.remove();
+				evictionCount.increment();
+			}
+		}
+	}
+	
+	
+	/** 게시글 제거
+	 * @param boardNo
+	 */
+	public void evict(int boardNo) {
+		
+		version.incrementAndGet();
+		
+		synchronized (map) {
+			Entry old = map.remove(boardNo);
+			if(old != null) totalBytes -= old.bytes;
+		}
+	}
+	
+	
+	/** 게시글/댓글 변경 커밋 후 캐시에서 제거
+	 * - fallbackExecution : 트랜잭션 밖에서 발행된 경우에도 수행
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBoardChanged(BoardChangedEvent event) {
+		
+		// 새 게시글은 캐시에 없음
+		if(event.getType() == ChangeType.INSERT) return;
+		
+		evict(event.getBoardNo());
+		
+		log.debug("게시글 캐시 제거 : {}", event);
+	}
+	
+	
+	/** 회원 닉네임/프로필 이미지 변경 커밋 후
+	 *  해당 회원이 작성한 게시글/댓글이 포함된 게시글 캐시에서 제거
+	 * - 회원 정보 변경은 드물기 때문에 별도 색인 없이 전체 확인
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMemberChanged(MemberChangedEvent event) {
+		
+		int memberNo = event.getMemberNo();
+		
+		version.incrementAndGet();
+		
+		int count = 0;
+		
+		synchronized (map) {
+			
+			Iterator<Entry> it = map.values().iterator();
+			
+			while(it.hasNext()) {
+				
+				Entry entry = it.next();
+				
+				if(writtenBy(entry.board, memberNo)) {
+					totalBytes -= entry.bytes;
+					it.remove();
+					count++;
+				}
+			}
+		}
+		
+		log.debug("회원 정보 변경으로 게시글 캐시 {}개 제거 : {}", count, event);
+	}
+	
+	/** 게시글 또는 댓글 중 memberNo 회원이 작성한 것이 있는지 확인 */
+	private static boolean writtenBy(Board board, int memberNo) {
+		
+		if(board.getMemberNo() == memberNo) return true;
+		
+		for(Comment comment : board.getCommentList()) {
+			if(comment.getMemberNo() == memberNo) return true;
+		}
+		
+		return false;
+	}
+	
+	
+	/** 캐시 통계 조회 */
+	public Map<String, Object> getStats() {
+		
+		long hit = hitCount.sum();
+		long miss = missCount.sum();
+		
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("hitCount", hit);
+		stats.put("missCount", miss);
+		stats.put("hitRate", hit + miss == 0 ? 0 : (double) hit / (hit + miss));
+		stats.put("evictionCount", evictionCount.sum());
+		stats.put("maxBytes", maxBytes);
+		
+		synchronized (map) {
+			stats.put("size", map.size());
+			stats.put("bytes", totalBytes);
+		}
+		
+		return stats;
+	}
+	
+	
+	/** 게시글 예상 메모리 크기(byte) 
+	 * - 문자열 1글자 2byte + 객체당 기본 크기
+	 */
+	private static long estimateBytes(Board board) {
+		
+		long bytes = 256 + length(board.getBoardTitle()) + length(board.getBoardContent())
+				+ length(board.getMemberNickname()) + length(board.getProfileImg()) + 128;
+		
+		for(BoardImg img : board.getImageList()) {
+			bytes += 96 + length(img.getImgPath()) + length(img.getImgOriginalName())
+					+ length(img.getImgRename());
+		}
+		
+		for(Comment comment : board.getCommentList()) {
+			bytes += 160 + length(comment.getCommentContent()) 
+					+ length(comment.getMemberNickname()) + length(comment.getProfileImg()) + 64;
+		}
+		
+		return bytes;
+	}
+	
+	private static long length(String str) {
+		return str == null ? 0 : 40 + str.length() * 2L;
+	}
+	
+	
+	/** 캐시된 게시글 + 예상 크기 + 저장 시간 */
+	private record Entry(Board board, long bytes, long loadedAt) {}
+	
+}
@@ -0,0 +1,194 @@
+package edu.kh.project.board.model.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.kh.project.board.model.dto.BoardImg;
+import edu.kh.project.common.util.ContentHashStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시글 이미지 파일 저장소
+ *
+ * - 업로드된 파일을 임시 폴더(my.file.staging-path)에 병렬로 저장 (FileChannel 전송)
+ *   -> 제한된 크기의 스레드 풀 사용 (대기열이 가득 차면 요청 스레드가 직접 저장)
+ *   -> 저장하면서 내용 해시(SHA-256) 계산 -> 해시가 저장 파일명 (ContentHashStore)
+ * - 트랜잭션 커밋 후 : 임시 파일을 실제 저장 폴더로 원자적 이동 (rename)
+ *   (같은 내용의 파일이 이미 있으면 임시 파일만 삭제)
+ * - 트랜잭션 롤백 후 : 임시 파일 즉시 삭제 (DB에 없는 파일이 남지 않음)
+ */
+@Slf4j
+@Component
+@PropertySource("classpath:/config.properties")
+@RequiredArgsConstructor
+public class BoardImageStorage {
+
+	@Value("${my.board.folder-path}")
+	private String folderPath; // C:/uploadFiles/board/
+
+	// 파일 저장 스레드 수
+	@Value("${my.board.upload.threads:4}")
+	private int threads;
+
+	// 저장 대기열 크기
+	@Value("${my.board.upload.queue-capacity:32}")
+	private int queueCapacity;
+
+	private ThreadPoolExecutor executor;
+	
+	// 내용 해시 기반 저장소 (임시 파일, 해시 계산 + 중복 제거)
+	private final ContentHashStore contentHashStore;
+
+
+	@PostConstruct
+	public void init() {
+
+		// CallerRunsPolicy : 대기열이 가득 차면 요청한 스레드가 직접 수행 (무한정 쌓이지 않음)
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				Thread.ofPlatform().name("board-upload-", 0).factory(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(30, TimeUnit.SECONDS);
+	}
+
+
+	/** 업로드 파일 임시 저장 시작 (저장 완료를 기다리지 않음)
+	 * - 트랜잭션 안에서 호출 시 커밋/롤백 결과에 따라 이동/삭제 예약
+	 * - 트랜잭션 밖에서 호출 시 await() 에서 바로 이동
+	 * @param uploadList : imgPath(요청 경로), uploadFile 이 세팅된 이미지 목록
+	 *                     (imgRename 은 await() 에서 해시 파일명으로 세팅)
+	 * @return stagedUpload
+	 */
+	public StagedUpload stage(List<BoardImg> uploadList) {
+
+		StagedUpload upload = new StagedUpload(contentHashStore, folderPath);
+
+		for (BoardImg img : uploadList) {
+
+			Path staged = contentHashStore.newStagingFile();
+
+			upload.files.add(new StagedFile(staged, img,
+					executor.submit(() -> contentHashStore.write(img.getUploadFile(), staged))));
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+			upload.transactional = true;
+
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_COMMITTED) upload.promote();
+					else                            upload.discard();
+				}
+			});
+		}
+
+		return upload;
+	}
+
+
+	/** 임시 저장 중인 파일 묶음 (게시글 1회 작성/수정) */
+	public static class StagedUpload {
+
+		private final List<StagedFile> files = new ArrayList<>();
+
+		private final ContentHashStore store;
+
+		private final String folderPath;
+
+		private boolean transactional;
+
+		private StagedUpload(ContentHashStore store, String folderPath) {
+			this.store = store;
+			this.folderPath = folderPath;
+		}
+
+		/** 모든 파일의 임시 저장 완료 대기 + 이미지 파일명/경로 세팅
+		 * - imgRename : 해시 파일명, imgPath : 요청 경로 + 하위 폴더 (/images/board/9f/86/)
+		 * - 하나라도 실패하면 예외 발생 -> 트랜잭션 롤백 -> 임시 파일 삭제
+		 * @throws IOException
+		 */
+		public void await() throws IOException {
+
+			for (StagedFile file : files) {
+				try {
+					String fileName = file.future.get();
+
+					file.img.setImgRename(fileName);
+					file.img.setImgPath(file.img.getImgPath() + ContentHashStore.shardDir(fileName));
+
+				} catch (ExecutionException e) {
+					throw new IOException("게시글 이미지 저장 실패 : " + file.img.getImgOriginalName(), e.getCause());
+
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("게시글 이미지 저장 중단", e);
+				}
+			}
+
+			if (!transactional) promote();
+		}
+
+		/** 임시 파일을 실제 저장 폴더로 이동 (커밋 후) */
+		private void promote() {
+
+			for (StagedFile file : files) {
+				try {
+					store.promote(file.staged, folderPath, file.future.get());
+
+				} catch (Exception e) {
+					// 커밋 이후이므로 롤백 불가 -> 기록만 남김
+					log.error("게시글 이미지 이동 실패 : {}", file.img.getImgRename(), e);
+				}
+			}
+		}
+
+		/** 임시 파일 삭제 (롤백 후) */
+		private void discard() {
+
+			for (StagedFile file : files) {
+				try {
+					// 저장 중인 파일은 끝날 때까지 기다린 후 삭제
+					file.future.get();
+				} catch (Exception e) {
+					// 저장 실패한 파일도 일부 기록되었을 수 있으므로 아래에서 삭제
+				}
+
+				try {
+					Files.deleteIfExists(file.staged);
+				} catch (IOException e) {
+					log.warn("임시 이미지 삭제 실패 : {}", file.staged, e);
+				}
+			}
+		}
+	}
+
+
+	/** 임시 저장 파일 1개 (임시 경로, 이미지 정보, 저장 작업(결과 : 해시 파일명)) */
+	private record StagedFile(Path staged, BoardImg img, Future<String> future) {}
+
+}
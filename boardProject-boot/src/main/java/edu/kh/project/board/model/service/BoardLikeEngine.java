@@ -0,0 +1,359 @@
+package edu.kh.project.board.model.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.mapper.BoardMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시글 좋아요 엔진
+ *
+ * - 게시글별 좋아요 회원 집합을 메모리에 보관 (처음 사용 시 DB에서 적재)
+ *   -> 좋아요 수는 집합 크기로 바로 응답 (COUNT 조회 X)
+ * - 좋아요/해제는 "원하는 상태"로 변경하는 멱등 연산
+ *   -> 중복 클릭, 여러 탭에서 동시에 눌러도 PK 중복 오류 없이 같은 결과
+ * - 변경 내용은 게시글/회원 번호 순으로 정렬해서 일정 주기마다 일괄 반영
+ *   (DELETE 일괄 + MERGE 일괄 + 통계 좋아요 수 재계산)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardLikeEngine {
+
+	// 한 번의 SQL 로 반영할 최대 행 수
+	private static final int BATCH_SIZE = 500;
+
+	private final BoardMapper mapper;
+
+	private final TransactionTemplate transactionTemplate;
+
+	// 메모리에 보관할 최대 게시글 수 (넘으면 반영이 끝난 오래된 게시글부터 제거)
+	@Value("${my.board.like.max-boards:10000}")
+	private int maxBoards;
+
+	// 게시글 번호별 좋아요 상태
+	private final Map<Integer, BoardLikes> boards = new ConcurrentHashMap<>();
+
+	// 반영 대기 중인 변경이 있는 게시글 번호
+	private final Map<Integer, Boolean> dirtyBoards = new ConcurrentHashMap<>();
+
+	// 일괄 반영은 한 번에 하나의 스레드만 수행
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+
+	/** 좋아요 상태 변경 (이미 원하는 상태면 변경 없음)
+	 * @param boardNo
+	 * @param memberNo
+	 * @param like : true(좋아요) / false(해제)
+	 * @return 변경 후 좋아요 수
+	 */
+	public int setLike(int boardNo, int memberNo, boolean like) {
+
+		while (true) {
+
+			BoardLikes likes = load(boardNo);
+
+			synchronized (likes) {
+
+				// 그 사이 메모리에서 제거된 경우 다시 적재
+				if (likes.evicted) continue;
+
+				boolean changed = like ? likes.members.add(memberNo) : likes.members.remove(memberNo);
+
+				if (changed) {
+					// 같은 회원의 이전 변경은 마지막 상태로 덮어씀
+					likes.changes.put(memberNo, like);
+					dirtyBoards.put(boardNo, Boolean.TRUE);
+				}
+
+				return likes.members.size();
+			}
+		}
+	}
+
+
+	/** 메모리에 적재된 게시글이면 좋아요 수/여부를 덮어씌움
+	 *  (적재되지 않은 게시글은 반영 대기 중인 변경이 없으므로 DB 값 그대로 사용)
+	 * @param board
+	 * @param memberNo : 로그인 회원 번호 (비로그인 null)
+	 * @return board
+	 */
+	public Board applyTo(Board board, Integer memberNo) {
+
+		BoardLikes likes = boards.get(board.getBoardNo());
+
+		if (likes == null) return board;
+
+		synchronized (likes) {
+			likes.lastAccess = System.nanoTime();
+			board.setLikeCount(likes.members.size());
+			board.setLikeCheck(memberNo != null && likes.members.contains(memberNo) ? 1 : 0);
+		}
+
+		return board;
+	}
+
+
+	/** 반영 대기 중인 좋아요 변경을 DB에 일괄 반영
+	 * - fixedDelay : 이전 반영이 끝난 후 설정된 시간(ms) 뒤에 다시 수행
+	 */
+	@Scheduled(fixedDelayString = "${my.board.like.flush-interval:3000}")
+	public void flush() {
+
+		flushLock.lock();
+
+		try {
+			flushPending();
+			evictIdle();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+
+	// 서버 종료 시 남아있는 변경 반영
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+
+	/** 게시글 좋아요 상태 조회 (없으면 DB에서 적재) */
+	private BoardLikes load(int boardNo) {
+
+		BoardLikes likes = boards.get(boardNo);
+
+		if (likes == null) {
+
+			// DB 조회는 ConcurrentHashMap 잠금 밖에서 수행
+			// (동시에 적재된 경우 먼저 저장된 것을 사용)
+			BoardLikes loaded = new BoardLikes();
+
+			for (int memberNo : mapper.selectLikeMemberList(boardNo)) {
+				loaded.members.add(memberNo);
+			}
+
+			likes = boards.putIfAbsent(boardNo, loaded);
+
+			if (likes == null) likes = loaded;
+		}
+
+		likes.lastAccess = System.nanoTime();
+
+		return likes;
+	}
+
+
+	/** 변경 내용을 꺼내서 DB에 반영 (flushLock 보유 상태에서 호출) */
+	private void flushPending() {
+
+		// 게시글 번호 -> (회원 번호 -> 좋아요 여부), 모두 번호 오름차순
+		// -> 항상 같은 순서로 행 잠금을 얻어 다른 트랜잭션과 교착 상태(deadlock) 방지
+		Map<Integer, TreeMap<Integer, Boolean>> taken = new TreeMap<>();
+
+		for (Integer boardNo : dirtyBoards.keySet()) {
+
+			dirtyBoards.remove(boardNo);
+
+			BoardLikes likes = boards.get(boardNo);
+
+			synchronized (likes) {
+				if (likes.changes.isEmpty()) continue;
+
+				taken.put(boardNo, new TreeMap<>(likes.changes));
+				likes.changes.clear();
+			}
+		}
+
+		if (taken.isEmpty()) return;
+
+		List<Map<String, Integer>> deleteList = new ArrayList<>();
+		List<Map<String, Integer>> mergeList = new ArrayList<>();
+
+		taken.forEach((boardNo, changes) -> changes.forEach((memberNo, like) -> {
+
+			Map<String, Integer> map = new HashMap<>();
+			map.put("boardNo", boardNo);
+			map.put("memberNo", memberNo);
+
+			(like ? mergeList : deleteList).add(map);
+		}));
+
+		List<Integer> boardNoList = new ArrayList<>(taken.keySet());
+
+		try {
+
+			transactionTemplate.executeWithoutResult(status -> {
+
+				for (int i = 0; i < deleteList.size(); i += BATCH_SIZE) {
+					mapper.deleteBoardLikeBatch(deleteList.subList(i, Math.min(i + BATCH_SIZE, deleteList.size())));
+				}
+
+				for (int i = 0; i < mergeList.size(); i += BATCH_SIZE) {
+					mapper.mergeBoardLikeBatch(mergeList.subList(i, Math.min(i + BATCH_SIZE, mergeList.size())));
+				}
+
+				for (int i = 0; i < boardNoList.size(); i += BATCH_SIZE) {
+					mapper.updateLikeCountBatch(boardNoList.subList(i, Math.min(i + BATCH_SIZE, boardNoList.size())));
+				}
+			});
+
+			log.debug("좋아요 일괄 반영 : 게시글 {}개, 체크 {}건, 해제 {}건",
+					boardNoList.size(), mergeList.size(), deleteList.size());
+
+		} catch (Exception e) {
+
+			// 반영 실패 시 꺼낸 변경을 되돌려 다음 주기에 재시도
+			// (그 사이 같은 회원이 다시 변경했다면 최신 변경 유지)
+			taken.forEach((boardNo, changes) -> {
+
+				BoardLikes likes = boards.get(boardNo);
+
+				synchronized (likes) {
+					changes.forEach(likes.changes::putIfAbsent);
+				}
+
+				dirtyBoards.put(boardNo, Boolean.TRUE);
+			});
+
+			log.error("좋아요 일괄 반영 실패", e);
+		}
+	}
+
+
+	/** 최대 게시글 수를 넘으면 반영할 변경이 없는 오래된 게시글부터 제거
+	 *  (flushLock 보유 상태에서 호출 -> 반영 중인 게시글은 제거되지 않음) */
+	private void evictIdle() {
+
+		int over = boards.size() - maxBoards;
+
+		if (over <= 0) return;
+
+		boards.entrySet().stream()
+			.filter(entry -> !dirtyBoards.containsKey(entry.getKey()))
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+			.limit(over)
+			.map(Map.Entry::getKey)
+			.toList()
+			.forEach(boardNo -> boards.computeIfPresent(boardNo, (k, likes) -> {
+
+				// 목록을 만든 뒤 변경된 게시글은 제거하지 않음
+				synchronized (likes) {
+					if (!likes.changes.isEmpty()) return likes;
+
+					likes.evicted = true;
+					return null;
+				}
+			}));
+	}
+
+
+	/** 게시글 1개의 좋아요 상태 (이 객체로 동기화) */
+	private static class BoardLikes {
+
+		// 좋아요 누른 회원 번호 집합
+		final MemberSet members = new MemberSet();
+
+		// 반영 대기 중인 변경 (회원 번호 -> 마지막 좋아요 여부)
+		final Map<Integer, Boolean> changes = new HashMap<>();
+
+		// 마지막 사용 시간 (오래된 게시글 제거 기준)
+		volatile long lastAccess;
+
+		// 메모리에서 제거됨 (제거 이후 변경은 새로 적재된 객체에 반영)
+		boolean evicted;
+	}
+
+
+	/** 회원 번호 집합
+	 *
+	 * - 좋아요가 적은 게시글 : 정렬된 int 배열 (회원 1명당 4byte)
+	 * - 좋아요가 많은 게시글 : 비트맵(BitSet) (회원 번호 1개당 1bit)
+	 * -> 배열이 비트맵보다 커지는 시점에 비트맵으로 전환
+	 */
+	static class MemberSet {
+
+		private int[] sorted = new int[4];
+		private BitSet bits;
+		private int size;
+
+		boolean contains(int memberNo) {
+			if (bits != null) return bits.get(memberNo);
+			return Arrays.binarySearch(sorted, 0, size, memberNo) >= 0;
+		}
+
+		/** @return 추가된 경우 true (이미 있으면 false) */
+		boolean add(int memberNo) {
+
+			if (bits != null) {
+				if (bits.get(memberNo)) return false;
+				bits.set(memberNo);
+				size++;
+				return true;
+			}
+
+			int index = Arrays.binarySearch(sorted, 0, size, memberNo);
+
+			if (index >= 0) return false;
+
+			index = -index - 1;
+
+			if (size == sorted.length) sorted = Arrays.copyOf(sorted, size * 2);
+
+			System.arraycopy(sorted, index, sorted, index + 1, size - index);
+			sorted[index] = memberNo;
+			size++;
+
+			// int 배열 크기(size * 32bit) > 비트맵 크기(최대 회원 번호 bit) 이면 전환
+			if ((long) size * Integer.SIZE > sorted[size - 1]) {
+				bits = new BitSet(sorted[size - 1] + 1);
+				for (int i = 0; i < size; i++) bits.set(sorted[i]);
+				sorted = null;
+			}
+
+			return true;
+		}
+
+		/** @return 제거된 경우 true (없으면 false) */
+		boolean remove(int memberNo) {
+
+			if (bits != null) {
+				if (!bits.get(memberNo)) return false;
+				bits.clear(memberNo);
+				size--;
+				return true;
+			}
+
+			int index = Arrays.binarySearch(sorted, 0, size, memberNo);
+
+			if (index < 0) return false;
+
+			System.arraycopy(sorted, index + 1, sorted, index, size - index - 1);
+			size--;
+
+			return true;
+		}
+
+		/** 좋아요 수 (O(1)) */
+		int size() {
+			return size;
+		}
+	}
+
+}
@@ -0,0 +1,210 @@
+package edu.kh.project.board.model.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.dto.Pagination;
+import edu.kh.project.board.model.event.BoardChangedEvent;
+import edu.kh.project.board.model.event.BoardChangedEvent.ChangeType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시판 앞쪽 페이지 목록 캐시
+ *
+ * - 검색어 없이 조회되는 각 게시판의 1 ~ pages 페이지 목록(pagination + boardList) 저장
+ * - 저장 후 ttl 의 80% 가 지났거나 게시글이 변경된 목록은 기존 목록을 그대로 반환하면서
+ *   다른 스레드에서 다시 조회 (stale-while-revalidate)
+ *   -> 한 번 저장된 페이지는 만료/변경 후에도 DB 조회를 기다리지 않음
+ * - 같은 페이지 조회는 동시에 하나만 수행 (CompletableFuture 공유)
+ *   -> 처음 조회하는 페이지도 동시 요청은 DB 조회 1번의 결과를 함께 기다림
+ * - 게시글 작성/수정/삭제 커밋 후 해당 게시판 목록을 제거하지 않고 바로 다시 조회
+ */
+@Slf4j
+@Component
+public class BoardListCache {
+
+	// 캐시할 앞쪽 페이지 수
+	@Value("${my.board.list-cache.pages:3}")
+	private int pages;
+	
+	// 목록 유지 시간(ms)
+	@Value("${my.board.list-cache.ttl:5000}")
+	private long ttl;
+	
+	private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+	
+	// 조회 중인 목록 (페이지당 하나)
+	private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+	
+	// 게시판별 변경 횟수 (변경 전에 조회된 목록 구분)
+	private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+	
+	// 다시 조회할 때 사용할 스레드
+	private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	
+	
+	/** 캐시 대상 페이지인지 확인
+	 * @param cp
+	 * @return 1 ~ pages 페이지이면 true
+	 */
+	public boolean isCacheable(int cp) {
+		return cp >= 1 && cp <= pages;
+	}
+	
+	
+	/** 캐시된 목록 조회
+	 * - 없는 경우 : 조회 후 반환 (동시 요청은 같은 조회 결과를 기다림)
+	 * - 오래되었거나 게시글이 변경된 경우 : 기존 목록 반환 + 다른 스레드에서 다시 조회
+	 * @param boardCode
+	 * @param cp
+	 * @param loader : DB에서 목록을 조회하는 함수
+	 * @return {pagination, boardList}
+	 */
+	public Map<String, Object> get(int boardCode, int cp, Supplier<Map<String, Object>> loader) {
+	
+		Key key = new Key(boardCode, cp);
+		Entry entry = cache.get(key);
+		
+		// 1. 처음 조회하는 페이지
+		if(entry == null) {
+		
+			try {
+				return toResult(refresh(key, loader).join());
+			
+			} catch (CompletionException e) {
+				if(e.getCause() instanceof RuntimeException re) throw re;
+				throw e;
+			}
+		}
+		
+		// 2. 오래되었거나 변경된 목록 -> 기존 목록 반환, 다시 조회는 한 번만 수행
+		if(System.currentTimeMillis() - entry.loadedAt >= ttl * 8 / 10
+				|| entry.version != version(boardCode).get()) {
+			refresh(key, loader);
+		}
+		
+		return toResult(entry);
+	}
+	
+	
+	/** 해당 게시판의 캐시된 목록 모두 다시 조회
+	 * - 다시 조회가 끝날 때까지 기존 목록 반환
+	 * @param boardCode
+	 */
+	public void evict(int boardCode) {
+	
+		version(boardCode).incrementAndGet();
+		
+		cache.forEach((key, entry) -> {
+			if(key.boardCode == boardCode) refresh(key, entry.loader);
+		});
+	}
+	
+	
+	/** 게시글 작성/수정/삭제 커밋 후 해당 게시판 목록 다시 조회
+	 * (댓글 수 변경은 ttl 이후 반영)
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBoardChanged(BoardChangedEvent event) {
+	
+		if(event.getType() == ChangeType.COMMENT) return;
+		
+		evict(event.getBoardCode());
+	}
+	
+	
+	@PreDestroy
+	public void shutdown() {
+		refreshExecutor.shutdownNow();
+	}
+	
+	
+	/** 다른 스레드에서 목록 조회 후 저장
+	 * - 이미 조회 중이면 진행 중인 조회 결과 반환
+	 * @return 조회 결과
+	 */
+	private CompletableFuture<Entry> refresh(Key key, Supplier<Map<String, Object>> loader) {
+	
+		CompletableFuture<Entry> future = new CompletableFuture<>();
+		CompletableFuture<Entry> running = inFlight.putIfAbsent(key, future);
+		
+		if(running != null) return running;
+		
+		refreshExecutor.execute(() -> {
+			try {
+				future.complete(load(key, loader));
+			
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+				log.error("게시글 목록 캐시 조회 실패 : {}", key, e);
+			
+			} finally {
+				inFlight.remove(key, future);
+			}
+		});
+		
+		return future;
+	}
+	
+	
+	/** DB 조회 후 저장
+	 * - 조회 중 게시글이 변경(evict)되었으면 변경 후 목록으로 다시 조회
+	 *   (진행 중인 조회가 있어 evict 에서 새로 조회하지 못한 경우)
+	 */
+	private Entry load(Key key, Supplier<Map<String, Object>> loader) {
+	
+		AtomicLong version = version(key.boardCode);
+		
+		while(true) {
+		
+			long loadedVersion = version.get();
+			
+			Map<String, Object> map = loader.get();
+			
+			@SuppressWarnings("unchecked")
+			Entry entry = new Entry((Pagination) map.get("pagination"),
+					List.copyOf((List<Board>) map.get("boardList")),
+					System.currentTimeMillis(), loadedVersion, loader);
+			
+			cache.put(key, entry);
+			
+			if(loadedVersion == version.get()) return entry;
+		}
+	}
+	
+	/** 게시판 변경 횟수 */
+	private AtomicLong version(int boardCode) {
+		return versions.computeIfAbsent(boardCode, k -> new AtomicLong());
+	}
+	
+	/** 저장된 목록으로 반환할 Map 생성 */
+	private Map<String, Object> toResult(Entry entry) {
+	
+		Map<String, Object> map = new HashMap<>();
+		map.put("pagination", entry.pagination);
+		map.put("boardList", entry.boardList);
+		
+		return map;
+	}
+	
+	
+	private record Key(int boardCode, int cp) {}
+	
+	/** 저장된 목록 + 조회 시간 + 조회 시점의 게시판 변경 횟수 + 다시 조회할 함수 */
+	private record Entry(Pagination pagination, List<Board> boardList, long loadedAt,
+			long version, Supplier<Map<String, Object>> loader) {}
+	
+}
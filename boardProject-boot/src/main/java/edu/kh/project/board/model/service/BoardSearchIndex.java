@@ -0,0 +1,626 @@
+package edu.kh.project.board.model.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.event.BoardChangedEvent;
+import edu.kh.project.board.model.event.BoardChangedEvent.ChangeType;
+import edu.kh.project.board.model.mapper.BoardMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시글 검색용 역색인(inverted index)
+ * 
+ * - 제목/내용/작성자 닉네임을 2글자 단위(bigram)로 잘라서
+ *   "단어 -> {게시글 번호 : 등장 횟수}" 형태로 메모리에 저장
+ *   ex) "짱구는 못말려" -> 짱구, 구는, 못말, 말려
+ * - 검색어의 모든 bigram 이 포함된 게시글을
+ *   (필드 가중치 x 등장 횟수) 점수 순으로 반환 -> LIKE '%검색어%' 전체 조회 대체
+ * - bigram 만 색인 -> 1글자 단어가 포함된 검색어는 LIKE 검색 (isSearchable)
+ * - bigram 이 여러 개인 검색어는 bigram 이 떨어져 있어도 일치하므로
+ *   색인 결과를 LIKE 조건으로 한 번 더 확인 (needsRecheck)
+ * - 게시글 작성/수정/삭제 커밋 후 해당 게시글만 다시 색인
+ * - 서버 시작 시 스냅샷 파일로 바로 검색 가능 + 다른 스레드에서 전체 다시 색인
+ *   (닉네임 변경 등 반영을 위해 매일 다시 색인)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardSearchIndex {
+
+	/** 색인 필드 + 점수 가중치 */
+	public enum Field {
+		TITLE(3), CONTENT(1), WRITER(2);
+		
+		private final int weight;
+		
+		Field(int weight) {
+			this.weight = weight;
+		}
+	}
+	
+	// 스냅샷 파일 형식 버전 (2 : 1글자 단어 색인 X)
+	private static final int SNAPSHOT_VERSION = 2;
+	
+	private final BoardMapper mapper;
+	
+	// 검색 색인 사용 여부 (false 이면 LIKE 검색)
+	@Value("${my.board.search-index.enabled:true}")
+	private boolean enabled;
+	
+	// 스냅샷 파일 경로 (빈 값이면 파일 저장 안함)
+	@Value("${my.board.search-index.snapshot-path:}")
+	private String snapshotPath;
+	
+	// 현재 색인 (null == 아직 준비되지 않음)
+	private volatile IndexData data;
+	
+	// 검색은 동시에 여러 스레드, 변경은 하나의 스레드만 수행
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	// 전체 다시 색인 중 변경된 게시글 번호 (다시 색인 중이 아니면 null, writeLock 필요)
+	private Set<Integer> changedDuringRebuild;
+	
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+	
+	// 스냅샷 저장 이후 변경 여부
+	private volatile boolean dirty;
+	
+	
+	/** 서버 시작 후 스냅샷 복원 + 전체 다시 색인 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void init() {
+		
+		if(!enabled) return;
+		
+		data = loadSnapshot();
+		
+		Thread.ofVirtual().name("board-search-index").start(this::rebuild);
+	}
+	
+	
+	/** 검색 가능 여부 */
+	public boolean isReady() {
+		return enabled && data != null;
+	}
+	
+	
+	/** 색인으로 검색할 수 있는 검색어인지 확인
+	 * - 1글자 단어는 bigram 으로 찾을 수 없으므로 LIKE 검색
+	 * @param query
+	 * @return 모든 단어가 2글자 이상이면 true
+	 */
+	public static boolean isSearchable(String query) {
+		
+		List<String> words = words(query);
+		
+		return !words.isEmpty() && words.stream().allMatch(word -> word.length() > 1);
+	}
+	
+	
+	/** 색인 결과를 LIKE 조건으로 다시 확인해야 하는지 확인
+	 * - bigram 이 여러 개이면 서로 떨어져 있는 게시글도 일치 (ex) "abc" -> "ab x bc")
+	 * @param query
+	 * @return bigram 이 2개 이상이면 true
+	 */
+	public static boolean needsRecheck(String query) {
+		return tokenize(query).size() > 1;
+	}
+	
+	
+	/** 게시글 검색 (isSearchable 인 검색어만)
+	 * @param boardCode
+	 * @param key : t(제목), c(내용), tc(제목+내용), w(작성자)
+	 * @param query : 검색어
+	 * @return 점수 높은 순 -> 최신 글 순으로 정렬된 게시글 번호 목록
+	 */
+	public List<Integer> search(int boardCode, String key, String query) {
+		
+		List<String> terms = new ArrayList<>(tokenize(query).keySet());
+		
+		if(terms.isEmpty()) return new ArrayList<>();
+		
+		Field[] fields = switch (key) {
+			case "t" -> new Field[] {Field.TITLE};
+			case "c" -> new Field[] {Field.CONTENT};
+			case "tc" -> new Field[] {Field.TITLE, Field.CONTENT};
+			default -> new Field[] {Field.WRITER};
+		};
+		
+		Map<Integer, Integer> scores = new HashMap<>();
+		
+		lock.readLock().lock();
+		
+		try {
+			
+			IndexData current = data;
+			
+			if(current == null) return new ArrayList<>();
+			
+			for(Field field : fields) {
+				
+				for(Map.Entry<Integer, Integer> entry : current.match(field, terms).entrySet()) {
+					
+					Doc doc = current.docs.get(entry.getKey());
+					
+					if(doc.boardCode != boardCode) continue;
+					
+					scores.merge(entry.getKey(), field.weight * entry.getValue(), Integer::sum);
+				}
+			}
+			
+		} finally {
+			lock.readLock().unlock();
+		}
+		
+		List<Integer> result = new ArrayList<>(scores.keySet());
+		
+		result.sort(Comparator.comparing((Integer boardNo) -> scores.get(boardNo)).reversed()
+				.thenComparing(Comparator.reverseOrder()));
+		
+		return result;
+	}
+	
+	
+	/** 게시글 작성/수정/삭제 커밋 후 해당 게시글 다시 색인 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBoardChanged(BoardChangedEvent event) {
+		
+		if(!enabled || event.getType() == ChangeType.COMMENT) return;
+		
+		int boardNo = event.getBoardNo();
+		
+		Board board = event.getType() == ChangeType.DELETE ? null : mapper.selectSearchDocument(boardNo);
+		
+		lock.writeLock().lock();
+		
+		try {
+			
+			if(data != null) {
+				data.remove(boardNo);
+				if(board != null) data.add(board.getBoardNo(), board.getBoardCode(), terms(board));
+				dirty = true;
+			}
+			
+			// 다시 색인 중이면 완료 후 한 번 더 반영
+			if(changedDuringRebuild != null) changedDuringRebuild.add(boardNo);
+			
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	
+	/** 전체 게시글 다시 색인 (매일 새벽 3시 30분)
+	 * - 새 색인을 만든 후 한 번에 교체 (만드는 동안 기존 색인으로 검색)
+	 */
+	@Scheduled(cron = "0 30 3 * * *")
+	public void rebuild() {
+		
+		if(!enabled || !rebuilding.compareAndSet(false, true)) return;
+		
+		try {
+			
+			lock.writeLock().lock();
+			try {
+				changedDuringRebuild = new HashSet<>();
+			} finally {
+				lock.writeLock().unlock();
+			}
+			
+			long start = System.currentTimeMillis();
+			
+			// 한 행씩 받아서 색인 (전체 목록을 메모리에 올리지 않음)
+			IndexData newData = new IndexData();
+			mapper.selectSearchSource(context -> {
+				Board board = context.getResultObject();
+				newData.add(board.getBoardNo(), board.getBoardCode(), terms(board));
+			});
+			
+			// 다시 색인하는 동안 변경된 게시글 반영
+			// - DB 조회는 잠금 없이 수행 (newData 는 이 스레드만 사용)
+			// - 반영하는 동안 또 변경된 게시글은 다음 반복에서 반영
+			// - 변경된 게시글이 남아있지 않을 때만 잠금 상태에서 교체
+			while(true) {
+				
+				List<Integer> changed;
+				
+				lock.writeLock().lock();
+				
+				try {
+					
+					if(changedDuringRebuild.isEmpty()) {
+						data = newData;
+						dirty = true;
+						changedDuringRebuild = null;
+						break;
+					}
+					
+					changed = new ArrayList<>(changedDuringRebuild);
+					changedDuringRebuild.clear();
+					
+				} finally {
+					lock.writeLock().unlock();
+				}
+				
+				for(Integer boardNo : changed) {
+					
+					Board board = mapper.selectSearchDocument(boardNo);
+					
+					newData.remove(boardNo);
+					if(board != null) newData.add(board.getBoardNo(), board.getBoardCode(), terms(board));
+				}
+			}
+			
+			log.info("게시글 검색 색인 완료 : 게시글 {}개, {}ms", 
+					newData.docs.size(), System.currentTimeMillis() - start);
+			
+			saveSnapshot();
+			
+		} catch (Exception e) {
+			
+			lock.writeLock().lock();
+			try {
+				changedDuringRebuild = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			
+			log.error("게시글 검색 색인 실패", e);
+			
+		} finally {
+			rebuilding.set(false);
+		}
+	}
+	
+	
+	// 서버 종료 시 스냅샷 저장
+	@PreDestroy
+	public void shutdown() {
+		saveSnapshot();
+	}
+	
+	
+	/** 변경된 색인 스냅샷 저장 (10분마다)
+	 * - 읽기 잠금 상태에서는 메모리에만 기록하고 파일 쓰기는 잠금 해제 후 수행
+	 *   (파일을 쓰는 동안 게시글 변경 반영이 기다리지 않음)
+	 */
+	@Scheduled(fixedDelay = 600000, initialDelay = 600000)
+	public void saveSnapshot() {
+		
+		if(snapshotPath.isBlank() || !dirty) return;
+		
+		Path path = Paths.get(snapshotPath);
+		Path temp = Paths.get(snapshotPath + ".tmp");
+		
+		byte[] snapshot;
+		
+		lock.readLock().lock();
+		
+		try {
+			
+			IndexData current = data;
+			
+			if(current == null) return;
+			
+			snapshot = current.serialize();
+			
+			// 변경 반영은 쓰기 잠금이 필요하므로 기록한 내용 이후 변경 없음
+			dirty = false;
+			
+		} catch (IOException e) {
+			log.error("게시글 검색 색인 스냅샷 저장 실패", e);
+			return;
+			
+		} finally {
+			lock.readLock().unlock();
+		}
+		
+		try {
+			
+			Files.createDirectories(path.toAbsolutePath().getParent());
+			
+			// 임시 파일에 기록 후 교체 (저장 도중 종료되어도 이전 스냅샷 유지)
+			Files.write(temp, snapshot);
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			
+		} catch (IOException e) {
+			
+			// 다음 주기에 다시 저장
+			dirty = true;
+			
+			log.error("게시글 검색 색인 스냅샷 저장 실패", e);
+		}
+	}
+	
+	
+	/** 스냅샷 파일이 있으면 색인 복원 */
+	private IndexData loadSnapshot() {
+		
+		if(snapshotPath.isBlank()) return null;
+		
+		Path path = Paths.get(snapshotPath);
+		
+		if(!Files.exists(path)) return null;
+		
+		try(DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(path)))) {
+			
+			if(in.readInt() != SNAPSHOT_VERSION) return null;
+			
+			IndexData snapshot = new IndexData();
+			int docCount = in.readInt();
+			
+			for(int i = 0 ; i < docCount ; i++) {
+				
+				int boardNo = in.readInt();
+				int boardCode = in.readInt();
+				
+				Map<Field, Map<String, Integer>> terms = new EnumMap<>(Field.class);
+				
+				for(Field field : Field.values()) {
+					
+					int termCount = in.readInt();
+					Map<String, Integer> fieldTerms = new HashMap<>(termCount * 2);
+					
+					for(int j = 0 ; j < termCount ; j++) {
+						fieldTerms.put(in.readUTF(), in.readInt());
+					}
+					
+					terms.put(field, fieldTerms);
+				}
+				
+				snapshot.add(boardNo, boardCode, terms);
+			}
+			
+			log.info("게시글 검색 색인 스냅샷 복원 : 게시글 {}개", docCount);
+			
+			return snapshot;
+			
+		} catch (IOException e) {
+			log.warn("게시글 검색 색인 스냅샷 복원 실패 : {}", e.getMessage());
+			return null;
+		}
+	}
+	
+	
+	/** 게시글 -> 색인할 필드별 bigram */
+	private static Map<Field, Map<String, Integer>> terms(Board board) {
+		
+		Map<Field, Map<String, Integer>> terms = new EnumMap<>(Field.class);
+		
+		terms.put(Field.TITLE, tokenize(board.getBoardTitle()));
+		terms.put(Field.CONTENT, tokenize(board.getBoardContent()));
+		terms.put(Field.WRITER, tokenize(board.getMemberNickname()));
+		
+		return terms;
+	}
+	
+	
+	/** 문자열을 bigram 으로 분리
+	 * - HTML 태그 제거, 소문자 변환
+	 * - 단어마다 2글자씩 잘라냄 (1글자 단어는 색인 X)
+	 * @param text
+	 * @return {bigram : 등장 횟수}
+	 */
+	static Map<String, Integer> tokenize(String text) {
+		
+		Map<String, Integer> terms = new HashMap<>();
+		
+		for(String word : words(text)) {
+			for(int j = 0 ; j < word.length() - 1 ; j++) {
+				terms.merge(word.substring(j, j + 2), 1, Integer::sum);
+			}
+		}
+		
+		return terms;
+	}
+	
+	
+	/** 문자열을 단어로 분리
+	 * - HTML 태그 제거, 소문자 변환
+	 * - 글자/숫자가 아닌 문자(공백, 특수문자)를 기준으로 단어를 나눔
+	 * @param text
+	 * @return 단어 목록
+	 */
+	private static List<String> words(String text) {
+		
+		List<String> words = new ArrayList<>();
+		
+		if(text == null) return words;
+		
+		String normalized = text.replaceAll("<[^>]*>", " ").toLowerCase();
+		
+		int start = -1; // 현재 단어 시작 위치
+		
+		for(int i = 0 ; i <= normalized.length() ; i++) {
+			
+			boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+			
+			if(letter) {
+				if(start < 0) start = i;
+				continue;
+			}
+			
+			if(start < 0) continue;
+			
+			words.add(normalized.substring(start, i));
+			
+			start = -1;
+		}
+		
+		return words;
+	}
+	
+	
+	/** 색인된 문서 (게시글 번호, 게시판 코드, 필드별 bigram 목록)
+	 * - 등장 횟수는 postings 에만 저장, 문서에는 수정/삭제 시 postings 에서 제거할 bigram 만 보관
+	 */
+	private record Doc(int boardNo, int boardCode, Map<Field, String[]> terms) {}
+	
+	
+	/** 색인 데이터 (lock 으로 보호) */
+	private static class IndexData {
+		
+		// 게시글 번호 : 문서
+		private final Map<Integer, Doc> docs = new HashMap<>();
+		
+		// 필드별 bigram : {게시글 번호 : 등장 횟수}
+		private final Map<Field, Map<String, Map<Integer, Integer>>> postings = new EnumMap<>(Field.class);
+		
+		private IndexData() {
+			for(Field field : Field.values()) postings.put(field, new HashMap<>());
+		}
+		
+		/** 게시글 색인
+		 * @param terms : 필드별 {bigram : 등장 횟수}
+		 */
+		private void add(int boardNo, int boardCode, Map<Field, Map<String, Integer>> terms) {
+			
+			remove(boardNo);
+			
+			Map<Field, String[]> docTerms = new EnumMap<>(Field.class);
+			
+			for(Field field : Field.values()) {
+				
+				Map<String, Map<Integer, Integer>> fieldPostings = postings.get(field);
+				Map<String, Integer> fieldTerms = terms.get(field);
+				
+				for(Map.Entry<String, Integer> term : fieldTerms.entrySet()) {
+					fieldPostings.computeIfAbsent(term.getKey(), k -> new HashMap<>())
+								.put(boardNo, term.getValue());
+				}
+				
+				docTerms.put(field, fieldTerms.keySet().toArray(String[]::new));
+			}
+			
+			docs.put(boardNo, new Doc(boardNo, boardCode, docTerms));
+		}
+		
+		private void remove(int boardNo) {
+			
+			Doc doc = docs.remove(boardNo);
+			
+			if(doc == null) return;
+			
+			for(Field field : Field.values()) {
+				
+				Map<String, Map<Integer, Integer>> fieldPostings = postings.get(field);
+				
+				for(String term : doc.terms.get(field)) {
+					
+					Map<Integer, Integer> posting = fieldPostings.get(term);
+					
+					if(posting == null) continue;
+					
+					posting.remove(boardNo);
+					
+					if(posting.isEmpty()) fieldPostings.remove(term);
+				}
+			}
+		}
+		
+		/** 스냅샷 파일 내용 (lock 필요) */
+		private byte[] serialize() throws IOException {
+			
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			
+			try(DataOutputStream out = new DataOutputStream(bytes)) {
+				
+				out.writeInt(SNAPSHOT_VERSION);
+				out.writeInt(docs.size());
+				
+				for(Doc doc : docs.values()) {
+					
+					out.writeInt(doc.boardNo);
+					out.writeInt(doc.boardCode);
+					
+					for(Field field : Field.values()) {
+						
+						// 등장 횟수는 bigram 게시글 목록에서 조회
+						Map<String, Map<Integer, Integer>> fieldPostings = postings.get(field);
+						String[] terms = doc.terms.get(field);
+						
+						out.writeInt(terms.length);
+						
+						for(String term : terms) {
+							out.writeUTF(term);
+							out.writeInt(fieldPostings.get(term).get(doc.boardNo));
+						}
+					}
+				}
+			}
+			
+			return bytes.toByteArray();
+		}
+		
+		/** 모든 검색어 bigram 이 포함된 게시글 조회
+		 * @return {게시글 번호 : 검색어 bigram 등장 횟수 합}
+		 */
+		private Map<Integer, Integer> match(Field field, List<String> terms) {
+			
+			List<Map<Integer, Integer>> termPostings = new ArrayList<>();
+			
+			for(String term : terms) {
+				
+				Map<Integer, Integer> posting = postings.get(field).get(term);
+				
+				// 하나라도 없는 bigram 이 있으면 결과 없음
+				if(posting == null) return Map.of();
+				
+				termPostings.add(posting);
+			}
+			
+			// 가장 적은 게시글을 가진 bigram 부터 확인
+			termPostings.sort(Comparator.comparingInt(Map::size));
+			
+			Map<Integer, Integer> result = new HashMap<>();
+			
+			outer:
+			for(Map.Entry<Integer, Integer> entry : termPostings.get(0).entrySet()) {
+				
+				int tf = entry.getValue();
+				
+				for(int i = 1 ; i < termPostings.size() ; i++) {
+					
+					Integer other = termPostings.get(i).get(entry.getKey());
+					
+					if(other == null) continue outer;
+					
+					tf += other;
+				}
+				
+				result.put(entry.getKey(), tf);
+			}
+			
+			return result;
+		}
+	}
+	
+}
@@ -2,6 +2,7 @@ package edu.kh.project.board.model.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import edu.kh.project.board.model.dto.Board;
 
@@ -19,6 +20,15 @@ public interface BoardService {
 	 */
 	Map<String, Object> selectBoardList(int boardCode, int cp);
 
+	/** 특정 게시판의 목록 조회 (keyset 방식)
+	 * @param boardCode
+	 * @param cp : 화면에 표시할 페이지 번호
+	 * @param cursor : 기준 게시글 번호 (0 == 첫 페이지)
+	 * @param direction : "next"(기준보다 이전 글) / "prev"(기준보다 최신 글)
+	 * @return
+	 */
+	Map<String, Object> selectBoardList(int boardCode, int cp, int cursor, String direction);
+
 	/** 게시글 상세 조회
 	 * @param map
 	 * @return board
@@ -31,11 +41,11 @@ public interface BoardService {
 	 */
 	int boardLike(Map<String, Integer> map);
 
-	/** 조회 수 1 증가
-	 * @param boardNo
-	 * @return
+	/** 조회 수 1 증가 (DB 반영은 일정 주기마다 일괄 수행)
+	 * @param board : 상세 조회된 게시글
+	 * @return 증가된 현재 조회 수
 	 */
-	int updateReadCount(int boardNo);
+	int updateReadCount(Board board);
 
 	/** 검색 서비스
 	 * @param paramMap
@@ -44,9 +54,14 @@ public interface BoardService {
 	 */
 	Map<String, Object> searchList(Map<String, Object> paramMap, int cp);
 
-	/** DB 이미지 파일명 목록 조회
-	 * @return
+	/** 게시글 통계 재계산
+	 * @return result
+	 */
+	int rebuildBoardStats();
+
+	/** DB 이미지 파일명 집합 조회 (게시글 이미지 + 프로필 이미지)
+	 * @return dbImageSet
 	 */
-	List<String> selectDbImageList();
+	Set<String> selectDbImageSet();
 
 }
@@ -1,14 +1,23 @@
 package edu.kh.project.board.model.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
 
 import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.dto.BoardImg;
+import edu.kh.project.board.model.dto.Comment;
+import edu.kh.project.board.model.dto.ListCountStrategy;
 import edu.kh.project.board.model.dto.Pagination;
 import edu.kh.project.board.model.mapper.BoardMapper;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +29,34 @@ public class BoardServiceImpl implements BoardService {
 
 	private final BoardMapper mapper;
 
+	// 조회 수 쓰기 지연 버퍼
+	private final ReadCountBuffer readCountBuffer;
+
+	// 게시글 상세 조회 캐시
+	private final BoardDetailCache boardDetailCache;
+
+	// 게시판 앞쪽 페이지 목록 캐시
+	private final BoardListCache boardListCache;
+
+	// 게시글 수 캐시 (CACHED)
+	private final ListCountCache listCountCache;
+
+	// 게시글 검색 색인
+	private final BoardSearchIndex boardSearchIndex;
+
+	// 댓글 첫 페이지 조회
+	private final CommentService commentService;
+
+	// 게시글 좋아요 (메모리 집합 + 일괄 반영)
+	private final BoardLikeEngine boardLikeEngine;
+
+	// 게시판 목록 / 검색 목록의 게시글 수 조회 방식
+	@Value("${my.board.list-count.strategy:EXACT}")
+	private ListCountStrategy listCountStrategy;
+
+	@Value("${my.board.search-count.strategy:ESTIMATED}")
+	private ListCountStrategy searchCountStrategy;
+
 	// 게시판 종류 조회
 	@Override
 	public List<Map<String, Object>> selectBoardTypeList() {
@@ -30,14 +67,29 @@ public class BoardServiceImpl implements BoardService {
 	@Override
 	public Map<String, Object> selectBoardList(int boardCode, int cp) {
 
+		// 앞쪽 페이지는 캐시된 목록 사용 (없으면 조회 후 저장)
+		if (boardListCache.isCacheable(cp)) {
+			return boardListCache.get(boardCode, cp, () -> loadBoardList(boardCode, cp));
+		}
+
+		return loadBoardList(boardCode, cp);
+	}
+
+	/** 특정 게시판의 지정된 페이지 목록 DB 조회
+	 * @param boardCode
+	 * @param cp
+	 * @return {pagination, boardList}
+	 */
+	private Map<String, Object> loadBoardList(int boardCode, int cp) {
+
 		// 1. 지정된 게시판(boardCode)에서
-		// 삭제되지 않은 게시글 수를 조회
-		int listCount = mapper.getListCount(boardCode);
+		// 삭제되지 않은 게시글 수를 조회 (listCountStrategy 에 따라 생략 가능)
 
 		// 2. 1번의 결과 + cp 를 이용해서
 		// Pagination 객체를 생성
 		// * Pagination 객체 : 게시글 목록 구성에 필요한 값을 저장한 객체
-		Pagination pagination = new Pagination(cp, listCount);
+		Pagination pagination = createPagination(cp, listCountStrategy, 
+				boardCode + ":", () -> mapper.getListCount(boardCode));
 
 		// 3. 특정 게시판의 지정된 페이지 목록 조회
 		/*
@@ -47,9 +99,7 @@ public class BoardServiceImpl implements BoardService {
 		 * --> 페이징 처리가 굉장히 간단해짐
 		 * 
 		 */
-		int limit = pagination.getLimit();
-		int offset = (cp - 1) * limit;
-		RowBounds rowBounds = new RowBounds(offset, limit);
+		RowBounds rowBounds = createRowBounds(pagination);
 
 		// Mapper 메서드 호출 시 원래 전달 할 수 있는 매개변수 1개
 		// -> 2개를 전달할 수 있는 경우가 있음
@@ -58,6 +108,12 @@ public class BoardServiceImpl implements BoardService {
 		// -> 두 번째 매개변수 -> RowBounds 객체 전달
 		List<Board> boardList = mapper.selectBoardList(boardCode, rowBounds);
 
+		applyEstimatedCount(pagination, boardList);
+
+		// 조회된 목록 기준으로 keyset 방식 커서도 함께 세팅
+		// -> 목록 화면에서 페이지 번호(RowBounds) / 커서(keyset) 방식 모두 사용 가능
+		setCursor(pagination, boardList, cp > 1, cp < pagination.getMaxPage());
+
 		// 4. 목록 조회 결과 + Pagination 객체를 Map으로 묶음
 		Map<String, Object> map = new HashMap<>();
 
@@ -68,82 +124,258 @@ public class BoardServiceImpl implements BoardService {
 		return map;
 	}
 
-	// 게시글 상세 조회
+	// 특정 게시판의 목록 조회 (keyset 방식)
 	@Override
-	public Board selectOne(Map<String, Integer> map) {
+	public Map<String, Object> selectBoardList(int boardCode, int cp, int cursor, String direction) {
+
+		// 1. 커서 방식은 페이지 번호 목록 없이 이전/다음 이동만 하므로
+		// 게시글 수(COUNT(*))를 조회하지 않음 -> 다음 페이지 존재 여부만 계산
+		Pagination pagination = new Pagination(cp, 0);
+
+		// 2. 기준 게시글 번호(cursor) 이후의 목록만 DB에서 잘라서 조회
+		// -> RowBounds 처럼 offset 만큼 읽고 버리지 않음
+		// -> 다음(이전) 페이지 존재 여부 확인을 위해 1행 더 조회
+		int limit = pagination.getLimit();
+		boolean prev = "prev".equals(direction);
+
+		Map<String, Object> paramMap = new HashMap<>();
+		paramMap.put("boardCode", boardCode);
+		paramMap.put("cursor", cursor);
+		paramMap.put("direction", prev ? "prev" : "next");
+		paramMap.put("fetchSize", limit + 1);
+
+		List<Board> boardList = mapper.selectBoardListByCursor(paramMap);
+
+		boolean hasMore = boardList.size() > limit;
+
+		if (hasMore) {
+			boardList.remove(boardList.size() - 1);
+		}
+
+		// 이전 페이지 조회는 오름차순으로 조회되므로 다시 최신 글 순서로 정렬
+		if (prev) {
+			Collections.reverse(boardList);
+		}
+
+		// 3. 게시글 수 대신 다음 페이지 존재 여부로 listCount 계산
+		// - 이전 방향 : 기준 글(현재 페이지보다 오래된 글)이 있으므로 다음 페이지는 항상 존재
+		pagination.setEstimatedCount(prev || hasMore ? limit + 1 : boardList.size());
+
+		// 4. 이전/다음 커서 세팅
+		// - 다음 방향 : 기준 글이 있으면 이전 페이지 존재
+		// - 이전 방향 : 추가 조회된 행이 있으면 이전 페이지 존재
+		setCursor(pagination, boardList, prev ? hasMore : cursor > 0, pagination.isHasMore());
+
+		Map<String, Object> map = new HashMap<>();
 
-		// 여러 SQL을 실행하는 방법
-		// 1. 하나의 Service 메서드에서
-		// 여러 Mapper 메서드를 호출하는 방법
+		map.put("pagination", pagination);
+		map.put("boardList", boardList);
+
+		return map;
+	}
 
-		// 2. 수행하려는 SQL이
-		// 1) 모두 SELECT 이면서
-		// 2) 먼저 조회된 결과 중 일부를 이용해서
-		// 나중에 수행되는 SQL의 조건으로 삼을 수 있는 경우
-		// --> Mybatis의 <resultMap>, <collection> 태그를 이용해서
-		// Mapper 메서드 1회 호출로 여러 SELECT 한 번에 수행 가능
+	/** 게시글 수 조회 방식에 따라 Pagination 생성
+	 * @param cp
+	 * @param strategy : EXACT / CACHED / ESTIMATED
+	 * @param countKey : CACHED 인 경우 게시글 수를 저장할 key
+	 * @param counter : COUNT(*) 조회 함수
+	 * @return pagination (ESTIMATED 인 경우 목록 조회 후 applyEstimatedCount 호출 필요)
+	 */
+	private Pagination createPagination(int cp, ListCountStrategy strategy, String countKey, IntSupplier counter) {
+
+		int listCount = switch (strategy) {
+			case EXACT -> counter.getAsInt();
+			case CACHED -> listCountCache.get(countKey, counter);
+			case ESTIMATED -> 0; // 목록 조회 후 계산
+		};
 
-		return mapper.selectOne(map);
+		Pagination pagination = new Pagination(cp, listCount);
+		pagination.setCountStrategy(strategy);
+
+		return pagination;
 	}
 
-	// 게시글 좋아요 체크/해제
-	@Override
-	public int boardLike(Map<String, Integer> map) {
+	/** 현재 페이지 조회 범위
+	 * - 게시글 수를 모르는 경우(ESTIMATED) 다음 페이지 존재 여부 확인을 위해 1행 더 조회
+	 */
+	private RowBounds createRowBounds(Pagination pagination) {
 
-		int result = 0;
+		int limit = pagination.getLimit();
+		int offset = (pagination.getCurrentPage() - 1) * limit;
 
-		// 1. 좋아요가 체크된 상태인 경우(likeCheck == 1)
-		// -> BOARD_LIKE 테이블에 DELETE
-		if (map.get("likeCheck") == 1) {
+		if (pagination.getCountStrategy() == ListCountStrategy.ESTIMATED) {
+			return new RowBounds(offset, limit + 1);
+		}
+
+		return new RowBounds(offset, limit);
+	}
 
-			result = mapper.deleteBoardLike(map);
+	/** 게시글 수를 모르는 경우(ESTIMATED) 조회된 행 수로 listCount 계산 후
+	 *  확인용으로 더 조회한 1행 제거
+	 */
+	private void applyEstimatedCount(Pagination pagination, List<Board> boardList) {
 
-		} else {
-			// 2. 좋아요가 해제된 상태인 경우(likeCheck == 0)
-			// -> BOARD_LIKE 테이블에 INSERT
+		if (pagination.getCountStrategy() != ListCountStrategy.ESTIMATED) return;
 
-			result = mapper.insertBoardLike(map);
+		pagination.setEstimatedCount(boardList.size());
 
+		if (boardList.size() > pagination.getLimit()) {
+			boardList.remove(boardList.size() - 1);
 		}
+	}
+
+	/** 조회된 목록의 첫/마지막 게시글 번호를 이전/다음 커서로 세팅
+	 * @param pagination
+	 * @param boardList
+	 * @param hasPrev : 이전 페이지 존재 여부
+	 * @param hasNext : 다음 페이지 존재 여부
+	 */
+	private void setCursor(Pagination pagination, List<Board> boardList, boolean hasPrev, boolean hasNext) {
 
-		// 3. 다시 해당 게시글의 좋아요 개수 조회해서 반환
-		if (result > 0) {
-			return mapper.selectLikeCount(map.get("boardNo"));
+		if (boardList.isEmpty()) return;
+
+		if (hasPrev) {
+			pagination.setPrevCursor(boardList.get(0).getBoardNo());
 		}
 
-		return -1;
+		if (hasNext) {
+			pagination.setNextCursor(boardList.get(boardList.size() - 1).getBoardNo());
+		}
 	}
 
-	// 조회 수 1 증가
+	// 게시글 상세 조회
 	@Override
-	public int updateReadCount(int boardNo) {
+	public Board selectOne(Map<String, Integer> map) {
+
+		int boardNo = map.get("boardNo");
+
+		// 1. 캐시된 게시글이 있는 경우
+		// -> 조회 수, 좋아요 수/여부만 조회해서 덮어씌움
+		Board cached = boardDetailCache.get(boardNo);
+
+		if (cached != null && cached.getBoardCode() == map.get("boardCode")) {
+
+			Board overlay = mapper.selectBoardOverlay(map);
+
+			// 캐시 이후 삭제된 게시글
+			if (overlay == null) {
+				boardDetailCache.evict(boardNo);
+				return null;
+			}
+
+			Board board = cached.toBuilder()
+					.readCount(overlay.getReadCount())
+					.likeCount(overlay.getLikeCount())
+					.likeCheck(overlay.getLikeCheck())
+					.build();
 
-		// 1. 조회 수 1 증가(UPDATE)
-		int result = mapper.updateReadCount(boardNo);
+			boardLikeEngine.applyTo(board, map.get("memberNo"));
 
-		// 2. 현재 조회 수 조회
-		if (result > 0) {
-			return mapper.selectReadCount(boardNo);
+			return overlayPendingReadCount(board);
 		}
 
-		// 실패한 경우 -1 반환
-		return -1;
+		// 2. 캐시된 게시글이 없는 경우 DB에서 조회 후 캐시에 저장
+		long version = boardDetailCache.version();
+
+		Board board = selectBoardDetail(map);
+
+		if (board == null) return null;
+
+		boardDetailCache.put(board, version);
+
+		// 아직 DB에 반영되지 않은 좋아요 변경 덮어씌움
+		boardLikeEngine.applyTo(board, map.get("memberNo"));
+
+		return overlayPendingReadCount(board);
+	}
+
+	/** 게시글 상세 내용 DB 조회
+	 * @param map : boardCode, boardNo, memberNo(로그인 시)
+	 * @return board 또는 null
+	 */
+	@SuppressWarnings("unchecked")
+	private Board selectBoardDetail(Map<String, Integer> map) {
+
+		// 1. 게시글 + 이미지 목록 + 좋아요 수/여부를
+		// JOIN 한 번으로 조회 (<resultMap>의 <collection>으로 이미지 목록 묶음)
+		Board board = mapper.selectOne(map);
+
+		if (board == null) return null;
+
+		if (board.getImageList() == null) {
+			board.setImageList(new ArrayList<>());
+		}
+
+		// 2. 썸네일 (IMG_ORDER == 0 인 이미지)
+		// 이미지 목록은 IMG_ORDER 오름차순이므로 첫번째 이미지만 확인
+		if (!board.getImageList().isEmpty() && board.getImageList().get(0).getImgOrder() == 0) {
+			BoardImg img = board.getImageList().get(0);
+			board.setThumbnail(img.getImgPath() + img.getImgRename());
+		}
+
+		// 3. 댓글 목록은 첫 페이지만 조회 (나머지는 화면에서 비동기 조회)
+		Map<String, Object> commentPage = commentService.selectPage(board.getBoardNo(), null, 0);
+
+		board.setCommentList((List<Comment>) commentPage.get("commentList"));
+		board.setCommentCursor((String) commentPage.get("cursor"));
+
+		return board;
+	}
+
+	/** 아직 DB에 반영되지 않은 조회 수 증가분 더하기 */
+	private Board overlayPendingReadCount(Board board) {
+		board.setReadCount(board.getReadCount() + (int) readCountBuffer.getPending(board.getBoardNo()));
+		return board;
+	}
+
+	// 게시글 좋아요 체크/해제
+	@Override
+	public int boardLike(Map<String, Integer> map) {
+
+		// likeCheck : 클릭 시점에 화면에 표시된 상태
+		// -> 1(체크됨) 이면 해제, 0(해제됨) 이면 체크를 원하는 것
+		// 
+		// 좋아요 엔진은 "원하는 상태"로 변경하므로
+		// 중복 클릭 / 여러 탭에서 같은 요청이 와도 결과가 같음 (INSERT/DELETE 는 일괄 반영)
+		boolean like = map.get("likeCheck") == 0;
+
+		return boardLikeEngine.setLike(map.get("boardNo"), map.get("memberNo"), like);
+	}
+
+	// 조회 수 1 증가
+	@Override
+	public int updateReadCount(Board board) {
+
+		// 1. 조회 수 증가분을 메모리에 누적
+		// -> 매 조회마다 UPDATE 하지 않고 ReadCountBuffer 가 주기적으로 일괄 반영
+		readCountBuffer.increase(board.getBoardNo());
+
+		// 2. 이미 조회된 조회 수 + 1 을 현재 조회 수(근사값)로 반환
+		return board.getReadCount() + 1;
 	}
 
 	// 검색 서비스 (게시글 목록 조회 참고)
 	@Override
 	public Map<String, Object> searchList(Map<String, Object> paramMap, int cp) {
 		// paramMap (key, query, boardCode)
+
+		// 검색 색인이 준비된 경우 색인에서 검색 (LIKE 전체 조회 X)
+		// (1글자 단어가 포함된 검색어는 색인으로 찾을 수 없으므로 LIKE 검색)
+		if (boardSearchIndex.isReady() && BoardSearchIndex.isSearchable(String.valueOf(paramMap.get("query")))) {
+			return searchFromIndex(paramMap, cp);
+		}
 		
 		// 1. 지정된 게시판(boardCode)에서
 		// 검색 조건에 맞으면서
-		// 삭제되지 않은 게시글 수를 조회
-		int listCount = mapper.getSearchCount(paramMap);
+		// 삭제되지 않은 게시글 수를 조회 (searchCountStrategy 에 따라 생략 가능)
 
 		// 2. 1번의 결과 + cp 를 이용해서
 		// Pagination 객체를 생성
 		// * Pagination 객체 : 게시글 목록 구성에 필요한 값을 저장한 객체
-		Pagination pagination = new Pagination(cp, listCount);
+		String countKey = paramMap.get("boardCode") + ":" + paramMap.get("key") + ":" + paramMap.get("query");
+
+		Pagination pagination = createPagination(cp, searchCountStrategy, 
+				countKey, () -> mapper.getSearchCount(paramMap));
 
 		// 3. 특정 게시판의 지정된 페이지 목록 조회
 		/*
@@ -153,9 +385,7 @@ public class BoardServiceImpl implements BoardService {
 		 * --> 페이징 처리가 굉장히 간단해짐
 		 * 
 		 */
-		int limit = pagination.getLimit();
-		int offset = (cp - 1) * limit;
-		RowBounds rowBounds = new RowBounds(offset, limit);
+		RowBounds rowBounds = createRowBounds(pagination);
 
 		// Mapper 메서드 호출 시 원래 전달 할 수 있는 매개변수 1개
 		// -> 2개를 전달할 수 있는 경우가 있음
@@ -164,6 +394,8 @@ public class BoardServiceImpl implements BoardService {
 		// -> 두 번째 매개변수 -> RowBounds 객체 전달
 		List<Board> boardList = mapper.selectSearchList(paramMap, rowBounds);
 
+		applyEstimatedCount(pagination, boardList);
+
 		// 4. 목록 조회 결과 + Pagination 객체를 Map으로 묶음
 		Map<String, Object> map = new HashMap<>();
 
@@ -174,10 +406,95 @@ public class BoardServiceImpl implements BoardService {
 		return map;
 	}
 	
-	// DB 이미지 파일명 목록 조회
+	/** 검색 색인 결과 중 검색 조건(LIKE)이 맞는 게시글만 남김
+	 * - 색인 결과 게시글만 기본 키로 조회 (IN 절 최대 1000개씩)
+	 * @param paramMap (key, query, boardCode)
+	 * @param boardNoList : 점수 순으로 정렬된 색인 결과
+	 * @return 점수 순서를 유지한 게시글 번호 목록
+	 */
+	private List<Integer> recheckSearchResult(Map<String, Object> paramMap, List<Integer> boardNoList) {
+
+		Set<Integer> matched = new HashSet<>();
+
+		Map<String, Object> matchMap = new HashMap<>(paramMap);
+
+		for (int i = 0; i < boardNoList.size(); i += 1000) {
+
+			matchMap.put("boardNoList", boardNoList.subList(i, Math.min(i + 1000, boardNoList.size())));
+
+			matched.addAll(mapper.selectSearchMatch(matchMap));
+		}
+
+		return boardNoList.stream().filter(matched::contains).toList();
+	}
+
+	/** 검색 색인을 이용한 검색
+	 * @param paramMap (key, query, boardCode)
+	 * @param cp
+	 * @return {pagination, boardList}
+	 */
+	private Map<String, Object> searchFromIndex(Map<String, Object> paramMap, int cp) {
+
+		// 1. 점수 순으로 정렬된 전체 검색 결과 게시글 번호
+		// -> 결과 개수가 곧 게시글 수 (COUNT(*) 불필요)
+		String query = String.valueOf(paramMap.get("query"));
+
+		List<Integer> boardNoList = boardSearchIndex.search((Integer) paramMap.get("boardCode"),
+				String.valueOf(paramMap.get("key")), query);
+
+		// bigram 이 여러 개인 검색어는 검색어가 그대로 포함된 게시글만 남김
+		if (BoardSearchIndex.needsRecheck(query)) {
+			boardNoList = recheckSearchResult(paramMap, boardNoList);
+		}
+
+		Pagination pagination = new Pagination(cp, boardNoList.size());
+
+		// 2. 현재 페이지에 해당하는 게시글만 조회
+		int limit = pagination.getLimit();
+		int offset = (cp - 1) * limit;
+
+		List<Board> boardList = new ArrayList<>();
+
+		if (offset < boardNoList.size()) {
+
+			List<Integer> pageNoList = boardNoList.subList(offset, Math.min(offset + limit, boardNoList.size()));
+
+			// 조회 결과를 검색 점수 순서로 다시 정렬
+			Map<Integer, Board> boardMap = new HashMap<>();
+
+			for (Board board : mapper.selectBoardListByNo(pageNoList)) {
+				boardMap.put(board.getBoardNo(), board);
+			}
+
+			for (Integer boardNo : pageNoList) {
+				if (boardMap.containsKey(boardNo)) boardList.add(boardMap.get(boardNo));
+			}
+		}
+
+		Map<String, Object> map = new HashMap<>();
+
+		map.put("pagination", pagination);
+		map.put("boardList", boardList);
+
+		return map;
+	}
+
+	// 게시글 통계 재계산
+	@Override
+	public int rebuildBoardStats() {
+		return mapper.rebuildBoardStats();
+	}
+	
+	// DB 이미지 파일명 집합 조회
 	@Override
-	public List<String> selectDbImageList() {
-		return mapper.selectDbImageList();
+	public Set<String> selectDbImageSet() {
+
+		// 조회 결과를 List 로 모으지 않고 한 행씩 바로 HashSet 에 추가
+		Set<String> dbImageSet = new HashSet<>();
+
+		mapper.selectDbImageList(context -> dbImageSet.add(context.getResultObject()));
+
+		return dbImageSet;
 	}
 
 }
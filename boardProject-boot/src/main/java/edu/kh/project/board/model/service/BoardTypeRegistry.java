@@ -0,0 +1,114 @@
+package edu.kh.project.board.model.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.ServletContextAware;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.ServletContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시판 종류(BOARD_TYPE) 저장소
+ * 
+ * - 서버 시작 시 조회해서 application scope 의 "boardTypeList" 로 등록
+ *   (요청마다 확인하던 BoardTypeInterceptor 대체)
+ * - 조회 결과는 수정할 수 없는 스냅샷으로 만들어 한 번에 교체 (버전 증가)
+ *   -> 요청 처리 중인 스레드는 교체 전/후 중 하나의 온전한 목록만 봄
+ * - 일정 주기마다 다시 조회하고, 관리자 요청(/admin/boardType/reload)으로 즉시 다시 조회 가능
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardTypeRegistry implements ServletContextAware {
+
+	private final BoardService service;
+	
+	private ServletContext application;
+	
+	// 현재 게시판 종류 스냅샷
+	private volatile Snapshot snapshot;
+	
+	
+	@Override
+	public void setServletContext(ServletContext servletContext) {
+		this.application = servletContext;
+		
+		if(snapshot != null) application.setAttribute("boardTypeList", snapshot.boardTypeList);
+	}
+	
+	
+	// 서버 시작 시 조회
+	@PostConstruct
+	public void init() {
+		reload();
+	}
+	
+	
+	/** 게시판 종류 다시 조회 (5분마다)
+	 * @return 현재 버전 (변경된 경우 1 증가)
+	 */
+	@Scheduled(fixedDelayString = "${my.board.board-type.refresh-interval:300000}",
+				initialDelayString = "${my.board.board-type.refresh-interval:300000}")
+	public synchronized long reload() {
+		
+		List<Map<String, Object>> boardTypeList = service.selectBoardTypeList().stream()
+				.map(boardType -> Collections.unmodifiableMap(new LinkedHashMap<>(boardType)))
+				.toList();
+		
+		Snapshot current = snapshot;
+		
+		// 변경 사항이 없으면 교체하지 않음
+		if(current != null && current.boardTypeList.equals(boardTypeList)) return current.version;
+		
+		// 게시판 코드 -> 게시판 이름
+		Map<Integer, String> nameMap = new HashMap<>();
+		
+		for(Map<String, Object> boardType : boardTypeList) {
+			nameMap.put(((Number) boardType.get("boardCode")).intValue(), (String) boardType.get("boardName"));
+		}
+		
+		Snapshot next = new Snapshot(current == null ? 1 : current.version + 1, 
+				boardTypeList, Collections.unmodifiableMap(nameMap));
+		
+		snapshot = next;
+		
+		if(application != null) application.setAttribute("boardTypeList", next.boardTypeList);
+		
+		log.info("게시판 종류 갱신 (version {}) : {}", next.version, boardTypeList);
+		
+		return next.version;
+	}
+	
+	
+	/** 게시판 종류 목록 [{boardCode, boardName}, ...] (수정 불가) */
+	public List<Map<String, Object>> getBoardTypeList() {
+		return snapshot.boardTypeList;
+	}
+	
+	
+	/** 게시판 이름 조회
+	 * @param boardCode
+	 * @return boardName 또는 null (없는 게시판)
+	 */
+	public String getBoardName(int boardCode) {
+		return snapshot.nameMap.get(boardCode);
+	}
+	
+	
+	/** 현재 버전 */
+	public long getVersion() {
+		return snapshot.version;
+	}
+	
+	
+	/** 게시판 종류 스냅샷 (버전, 목록, 게시판 코드 -> 이름) */
+	private record Snapshot(long version, List<Map<String, Object>> boardTypeList, Map<Integer, String> nameMap) {}
+	
+}
@@ -1,16 +1,27 @@
 package edu.kh.project.board.model.service;
 
-import java.util.List;
+import java.util.Map;
 
 import edu.kh.project.board.model.dto.Comment;
 
 public interface CommentService {
 
-	/** 댓글 목록 조회
+	/** 댓글 목록 페이지 조회 (최상위 댓글 기준)
 	 * @param boardNo
-	 * @return
+	 * @param cursor : 이전 페이지 마지막 최상위 댓글 경로 (첫 페이지면 null)
+	 * @param size : 최상위 댓글 수 (0 이하면 기본값)
+	 * @return {commentList, cursor(다음 페이지 기준, 없으면 null)}
+	 */
+	Map<String, Object> selectPage(int boardNo, String cursor, int size);
+
+	/** 답글 페이지 조회
+	 * @param boardNo
+	 * @param rootNo : 최상위 댓글 번호
+	 * @param cursor : 이전에 조회된 마지막 답글 경로 (처음이면 null)
+	 * @param size : 답글 수 (0 이하면 기본값)
+	 * @return {commentList, cursor(다음 답글 기준, 없으면 null)}
 	 */
-	List<Comment> select(int boardNo);
+	Map<String, Object> selectReplyPage(int boardNo, int rootNo, String cursor, int size);
 
 	/** 댓글/답글 등록
 	 * @param comment
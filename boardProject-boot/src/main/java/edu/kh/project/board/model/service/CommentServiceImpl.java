@@ -1,11 +1,17 @@
 package edu.kh.project.board.model.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import edu.kh.project.board.model.dto.Comment;
+import edu.kh.project.board.model.event.BoardChangedEvent;
+import edu.kh.project.board.model.event.BoardChangedEvent.ChangeType;
 import edu.kh.project.board.model.mapper.CommentMapper;
 import lombok.RequiredArgsConstructor;
 
@@ -16,28 +22,195 @@ public class CommentServiceImpl implements CommentService{
 
 	private final CommentMapper mapper;
 	
-	// 댓글 목록 조회
+	private final ApplicationEventPublisher publisher;
+	
+	// 댓글 경로 한 단계 길이 (10자리 댓글 번호)
+	private static final int PATH_LENGTH = 10;
+	
+	// 한 번에 요청할 수 있는 최대 댓글 수
+	private static final int MAX_PAGE_SIZE = 100;
+	
+	// 한 페이지 최상위 댓글 수
+	@Value("${my.comment.page-size:20}")
+	private int rootPageSize;
+	
+	// 최상위 댓글마다 함께 조회할 답글 수 / 답글 더보기 시 조회할 답글 수
+	@Value("${my.comment.reply-size:3}")
+	private int replyPageSize;
+	
+	// 댓글 목록 페이지 조회 (최상위 댓글 기준)
 	@Override
-	public List<Comment> select(int boardNo) {
-		return mapper.select(boardNo);
+	public Map<String, Object> selectPage(int boardNo, String cursor, int size) {
+		
+		int limit = pageSize(size, rootPageSize);
+		
+		Map<String, Object> paramMap = new HashMap<>();
+		paramMap.put("boardNo", boardNo);
+		paramMap.put("cursor", cursor);
+		paramMap.put("size", limit + 1); // 다음 페이지 존재 여부 확인용 댓글 묶음 1개 추가 조회
+		paramMap.put("replySize", replyPageSize);
+		
+		// 최상위 댓글 limit + 1 개 + 각 댓글의 처음 답글 replySize 개
+		List<Comment> commentList = mapper.selectRootPage(paramMap);
+		
+		// 다음 페이지 기준 == 마지막 최상위 댓글 경로 (경로 앞 10자리)
+		String nextCursor = null;
+		
+		// 댓글 묶음이 limit 개를 넘으면 마지막 묶음(계층 순서상 맨 뒤의 행들) 제거
+		if(countRoot(commentList) > limit) {
+			
+			String extraRoot = rootPath(commentList.get(commentList.size() - 1));
+			
+			while(rootPath(commentList.get(commentList.size() - 1)).equals(extraRoot)) {
+				commentList.remove(commentList.size() - 1);
+			}
+			
+			nextCursor = rootPath(commentList.get(commentList.size() - 1));
+		}
+		
+		Map<String, Object> map = new HashMap<>();
+		map.put("commentList", commentList);
+		map.put("cursor", nextCursor);
+		
+		return map;
+	}
+	
+	// 답글 페이지 조회
+	@Override
+	public Map<String, Object> selectReplyPage(int boardNo, int rootNo, String cursor, int size) {
+		
+		// 최상위 댓글 경로 == 10자리 댓글 번호
+		String rootPath = String.format("%0" + PATH_LENGTH + "d", rootNo);
+		
+		int limit = pageSize(size, replyPageSize);
+		
+		Map<String, Object> paramMap = new HashMap<>();
+		paramMap.put("boardNo", boardNo);
+		paramMap.put("rootPath", rootPath);
+		paramMap.put("cursor", cursor == null ? rootPath : cursor);
+		paramMap.put("fetchSize", limit + 1); // 다음 답글 존재 여부 확인용 1행 추가 조회
+		
+		List<Comment> commentList = mapper.selectReplyPage(paramMap);
+		
+		String nextCursor = null;
+		
+		if(commentList.size() > limit) {
+			commentList.remove(limit);
+			nextCursor = commentList.get(limit - 1).getCommentPath();
+		}
+		
+		Map<String, Object> map = new HashMap<>();
+		map.put("commentList", commentList);
+		map.put("cursor", nextCursor);
+		
+		return map;
+	}
+	
+	/** 댓글 묶음(최상위 댓글 경로) 수 - 목록은 경로 오름차순 */
+	private int countRoot(List<Comment> commentList) {
+		
+		int count = 0;
+		String prev = null;
+		
+		for(Comment comment : commentList) {
+			
+			String root = rootPath(comment);
+			
+			if(!root.equals(prev)) count++;
+			
+			prev = root;
+		}
+		
+		return count;
+	}
+	
+	/** 댓글이 속한 묶음의 최상위 댓글 경로 (경로 앞 10자리) */
+	private String rootPath(Comment comment) {
+		return comment.getCommentPath().substring(0, PATH_LENGTH);
+	}
+	
+	/** 요청한 페이지 크기 (0 이하면 기본값, 최대 MAX_PAGE_SIZE) */
+	private int pageSize(int size, int defaultSize) {
+		return size <= 0 ? defaultSize : Math.min(size, MAX_PAGE_SIZE);
 	}
 	
 	// 댓글/답글 등록
 	@Override
 	public int insert(Comment comment) {
-		return mapper.insert(comment);
+		
+		int result = mapper.insert(comment);
+		
+		// 등록 성공 시 게시글 통계 댓글 수 1 증가 (같은 트랜잭션)
+		if(result > 0) {
+			updateCommentCount(comment.getBoardNo(), 1);
+			updateParentLiveChildCount(comment.getCommentNo(), 1);
+			publishChanged(comment.getBoardNo());
+		}
+		
+		return result;
 	}
 	
 	// 댓글 삭제
 	@Override
 	public int delete(int commentNo) {
-		return mapper.delete(commentNo);
+		
+		int result = mapper.delete(commentNo);
+		
+		// 삭제 성공 시 게시글 통계 댓글 수 1 감소
+		if(result > 0) {
+			int boardNo = mapper.selectBoardNo(commentNo);
+			updateCommentCount(boardNo, -1);
+			updateParentLiveChildCount(commentNo, -1);
+			publishChanged(boardNo);
+		}
+		
+		return result;
+	}
+	
+	/** 게시글 통계 댓글 수 변경
+	 * @param boardNo
+	 * @param delta : 1 / -1
+	 */
+	private void updateCommentCount(int boardNo, int delta) {
+		
+		Map<String, Integer> map = new HashMap<>();
+		map.put("boardNo", boardNo);
+		map.put("delta", delta);
+		
+		mapper.updateCommentCount(map);
+	}
+	
+	/** 부모 댓글의 삭제되지 않은 자식 댓글 수 변경 (답글인 경우만 수정됨)
+	 * @param commentNo : 등록/삭제된 댓글 번호
+	 * @param delta : 1 / -1
+	 */
+	private void updateParentLiveChildCount(int commentNo, int delta) {
+		
+		Map<String, Integer> map = new HashMap<>();
+		map.put("commentNo", commentNo);
+		map.put("delta", delta);
+		
+		mapper.updateParentLiveChildCount(map);
 	}
 	
 	// 댓글 수정
 	@Override
 	public int update(Comment comment) {
-		return mapper.update(comment);
+		
+		int result = mapper.update(comment);
+		
+		if(result > 0) {
+			publishChanged(mapper.selectBoardNo(comment.getCommentNo()));
+		}
+		
+		return result;
+	}
+	
+	/** 댓글 변경 이벤트 발행 (커밋 후 게시글 캐시 제거)
+	 * @param boardNo
+	 */
+	private void publishChanged(int boardNo) {
+		publisher.publishEvent(new BoardChangedEvent(0, boardNo, ChangeType.COMMENT));
 	}
 	
 }
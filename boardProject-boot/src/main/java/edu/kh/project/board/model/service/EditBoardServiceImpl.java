@@ -1,12 +1,12 @@
 package edu.kh.project.board.model.service;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,8 +14,11 @@ import org.springframework.web.multipart.MultipartFile;
 
 import edu.kh.project.board.model.dto.Board;
 import edu.kh.project.board.model.dto.BoardImg;
+import edu.kh.project.board.model.event.BoardChangedEvent;
+import edu.kh.project.board.model.event.BoardChangedEvent.ChangeType;
 import edu.kh.project.board.model.mapper.EditBoardMapper;
-import edu.kh.project.common.util.Utility;
+import edu.kh.project.board.model.service.BoardImageStorage.StagedUpload;
+import edu.kh.project.image.model.service.ImageRegistryService;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -26,11 +29,16 @@ public class EditBoardServiceImpl implements EditBoardService {
 
 	private final EditBoardMapper mapper;
 
+	private final ApplicationEventPublisher publisher;
+
 	@Value("${my.board.web-path}")
 	private String webPath; // /images/board/
 
-	@Value("${my.board.folder-path}")
-	private String folderPath; // C:/uploadFiles/board/
+	// 게시글 이미지 파일 저장소 (병렬 임시 저장 + 내용 해시 파일명 + 커밋 후 이동)
+	private final BoardImageStorage imageStorage;
+
+	// 참조 해제된 이미지 기록
+	private final ImageRegistryService imageRegistryService;
 
 	// 게시글 작성
 	@Override
@@ -53,6 +61,12 @@ public class EditBoardServiceImpl implements EditBoardService {
 		// boardNo가 inputBoard에 저장된 상태!!! (얕은 복사 개념 이해 필수)
 		int boardNo = inputBoard.getBoardNo();
 
+		// 게시글 통계(댓글 수, 좋아요 수, 조회 수) 행 함께 삽입
+		mapper.insertBoardStats(boardNo);
+
+		// 게시글 작성 이벤트 발행 (커밋 후 전달)
+		publisher.publishEvent(new BoardChangedEvent(inputBoard.getBoardCode(), boardNo, ChangeType.INSERT));
+
 		// 2. 업로드된 이미지가 실제로 존재할 경우
 		// 업로드된 이미지만 별도로 저장하여
 		// BOARD_IMG 테이블에 삽입하는 코드 작성
@@ -69,11 +83,9 @@ public class EditBoardServiceImpl implements EditBoardService {
 				// 원본명
 				String originalName = images.get(i).getOriginalFilename();
 
-				// 변경명
-				String rename = Utility.fileRename(originalName);
-
 				// 모든 값을 저장할 DTO 생성 ( BoardImg - Builder 패턴 사용 )
-				BoardImg img = BoardImg.builder().imgOriginalName(originalName).imgRename(rename).imgPath(webPath)
+				// (변경명은 파일 저장 후 내용 해시로 세팅)
+				BoardImg img = BoardImg.builder().imgOriginalName(originalName).imgPath(webPath)
 						.boardNo(boardNo).imgOrder(i).uploadFile(images.get(i)).build();
 
 				// 해당 BoardImg를 uploadList 추가
@@ -89,20 +101,19 @@ public class EditBoardServiceImpl implements EditBoardService {
 		}
 
 		// 선택한 파일이 존재할 경우
-		// -> "BOARD_IMG" 테이블에 INSERT + 서버에 파일 저장
+		// -> 서버에 파일 임시 저장(병렬) + 내용 해시 계산
+		// -> 커밋되면 실제 폴더로 이동(같은 내용이 있으면 재사용), 롤백되면 임시 파일 삭제
+		StagedUpload upload = imageStorage.stage(uploadList);
+
+		// 파일 임시 저장 완료 대기 -> 변경명(해시 파일명) 세팅 (실패 시 예외 -> 롤백)
+		upload.await();
 
+		// "BOARD_IMG" 테이블에 INSERT
 		// result == 삽입된 행의 개수 == uploadList.size()
 		result = mapper.insertUploadList(uploadList);
 
 		// 다중 INSERT 성공 확인 (uploadList에 저장된 값이 모두 정상 삽입 되었는가)
-		if (result == uploadList.size()) {
-
-			// 서버에 파일 저장
-			for (BoardImg img : uploadList) {
-				img.getUploadFile().transferTo(new File(folderPath + img.getImgRename()));
-			}
-
-		} else {
+		if (result != uploadList.size()) {
 			// 부분적으로 삽입 실패
 			// ex ) uploadList 에 2개 저장
 			// -> 1개 삽입 성공 1개는 실패
@@ -128,15 +139,25 @@ public class EditBoardServiceImpl implements EditBoardService {
 		if (result == 0)
 			return 0;
 
+		// 게시글 수정 이벤트 발행 (커밋 후 전달, 롤백 시 전달 안됨)
+		publisher.publishEvent(
+				new BoardChangedEvent(inputBoard.getBoardCode(), inputBoard.getBoardNo(), ChangeType.UPDATE));
+
 		// -----------------------------
 
 		// 2. 기존 O -> 삭제된 이미지(deleteOrderList)가 있는 경우
 		if (deleteOrderList != null && !deleteOrderList.equals("")) {
 
+			// 요청 파라미터 "1,2,3" -> 숫자 목록 (숫자가 아니면 예외 -> 롤백)
+			List<Integer> orderList = parseOrderList(deleteOrderList);
+
 			Map<String, Object> map = new HashMap<>();
 			map.put("deleteOrderList", deleteOrderList);
 			map.put("boardNo", inputBoard.getBoardNo());
 
+			// 삭제될 이미지 파일명을 참조 해제 목록에 기록 (스케줄러가 파일 삭제)
+			imageRegistryService.dereferenceBoardImages(inputBoard.getBoardNo(), orderList);
+
 			result = mapper.deleteImage(map);
 
 			// 삭제 실패한 경우 -> 롤백
@@ -159,13 +180,10 @@ public class EditBoardServiceImpl implements EditBoardService {
 				// 원본명
 				String originalName = images.get(i).getOriginalFilename();
 
-				// 변경명
-				String rename = Utility.fileRename(originalName);
-
 				// 모든 값을 저장할 DTO 생성 ( BoardImg - Builder 패턴 사용 )
+				// (변경명은 파일 저장 후 내용 해시로 세팅)
 				BoardImg img = BoardImg.builder().
 							imgOriginalName(originalName)
-							.imgRename(rename)
 							.imgPath(webPath)
 							.boardNo(inputBoard.getBoardNo())
 							.imgOrder(i)
@@ -174,29 +192,7 @@ public class EditBoardServiceImpl implements EditBoardService {
 
 				// 해당 BoardImg를 uploadList 추가
 				uploadList.add(img);
-				
-				// 4. 업로드 하려는 이미지 정보(img)를 이용해서
-				//    수정 또는 삽입 수행
-				
-				// 1) 기존 O -> 새 이미지로 변경 -> 수정
-				result = mapper.updateImage(img);
-				
-				if(result == 0) {
-					// 수정 실패 == 기존 해당 순서(IMG_ORDER)에 이미지가 없었음
-					// -> 삽입 수행
-					
-					// 2) 기존 X -> 새 이미지 추가
-					result = mapper.insertImage(img);
-				}
-				
-			}
-			
-			
-			// 수정 또는 삭제가 실패한 경우
-			if(result == 0) {
-				throw new RuntimeException(); // 예외 발생 -> 롤백
 			}
-			
 		}
 		
 		// 선택한 파일이 없을 경우
@@ -204,12 +200,38 @@ public class EditBoardServiceImpl implements EditBoardService {
 			return result;
 		}
 		
-		// 수정, 새 이미지 파일을 서버에 저장
-		for(BoardImg img : uploadList) {
-			img.getUploadFile().transferTo(new File(folderPath + img.getImgRename()));
+		// 수정, 새 이미지 파일을 서버에 임시 저장(병렬) + 내용 해시 계산
+		// -> 커밋되면 실제 폴더로 이동(같은 내용이 있으면 재사용), 롤백되면 임시 파일 삭제
+		StagedUpload upload = imageStorage.stage(uploadList);
+		
+		// 파일 임시 저장 완료 대기 -> 변경명(해시 파일명) 세팅 (실패 시 예외 -> 롤백)
+		upload.await();
+		
+		for (BoardImg img : uploadList) {
+			
+			// 4. 업로드 하려는 이미지 정보(img)를 이용해서
+			//    수정 또는 삽입 수행
+			
+			// 1) 기존 O -> 새 이미지로 변경 -> 수정
+			//    (변경될 기존 이미지가 있으면 참조 해제 목록에 기록)
+			imageRegistryService.dereferenceBoardImages(img.getBoardNo(), List.of(img.getImgOrder()));
+			
+			result = mapper.updateImage(img);
+			
+			if(result == 0) {
+				// 수정 실패 == 기존 해당 순서(IMG_ORDER)에 이미지가 없었음
+				// -> 삽입 수행
+				
+				// 2) 기존 X -> 새 이미지 추가
+				result = mapper.insertImage(img);
+			}
+			
+			// 수정 또는 삽입이 실패한 경우
+			if(result == 0) {
+				throw new RuntimeException(); // 예외 발생 -> 롤백
+			}
 		}
 		
-
 		return result;
 	}
 
@@ -217,16 +239,33 @@ public class EditBoardServiceImpl implements EditBoardService {
 	// 게시글 삭제
 	@Override
 	public int boardDelete(Map<String, Integer> map) {
-		return mapper.boardDelete(map);
-	}
-
 
+		int result = mapper.boardDelete(map);
 
+		// 게시글 삭제 이벤트 발행 (커밋 후 전달)
+		if (result > 0) {
+			publisher.publishEvent(
+					new BoardChangedEvent(map.get("boardCode"), map.get("boardNo"), ChangeType.DELETE));
+		}
 
+		return result;
+	}
 
 
+	/** 삭제된 이미지 순서 문자열 -> IMG_ORDER 목록
+	 * @param deleteOrderList : "1,2,3"
+	 * @return [1, 2, 3]
+	 * @throws NumberFormatException 숫자가 아닌 값이 포함된 경우
+	 */
+	private static List<Integer> parseOrderList(String deleteOrderList) {
 
+		List<Integer> orderList = new ArrayList<>();
 
+		for (String order : deleteOrderList.split(",")) {
+			orderList.add(Integer.parseInt(order.trim()));
+		}
 
+		return orderList;
+	}
 
 }
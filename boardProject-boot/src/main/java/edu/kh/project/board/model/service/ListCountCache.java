@@ -0,0 +1,73 @@
+package edu.kh.project.board.model.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.kh.project.board.model.event.BoardChangedEvent;
+import edu.kh.project.board.model.event.BoardChangedEvent.ChangeType;
+
+/** 게시글 수(COUNT(*)) 캐시 (ListCountStrategy.CACHED)
+ * 
+ * - key : "게시판코드:" 또는 "게시판코드:검색조건:검색어"
+ * - ttl 동안 저장된 게시글 수 사용
+ * - 게시글 작성/삭제 커밋 후 해당 게시판의 게시글 수 모두 제거
+ */
+@Component
+public class ListCountCache {
+
+	// 저장할 최대 개수 (검색어 종류만큼 늘어나는 것을 제한)
+	private static final int MAX_ENTRIES = 10_000;
+	
+	// 게시글 수 유지 시간(ms)
+	@Value("${my.board.list-count.cache-ttl:60000}")
+	private long ttl;
+	
+	private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+	
+	
+	/** 저장된 게시글 수 조회 (없거나 만료된 경우 counter 로 조회 후 저장)
+	 * @param key
+	 * @param counter : COUNT(*) 조회 함수
+	 * @return listCount
+	 */
+	public int get(String key, IntSupplier counter) {
+		
+		Entry entry = cache.get(key);
+		long now = System.currentTimeMillis();
+		
+		if(entry != null && now - entry.loadedAt < ttl) return entry.count;
+		
+		int count = counter.getAsInt();
+		
+		// 최대 개수를 넘으면 만료된 항목 정리, 그래도 많으면 전체 제거
+		if(cache.size() >= MAX_ENTRIES) {
+			cache.values().removeIf(e -> now - e.loadedAt >= ttl);
+			if(cache.size() >= MAX_ENTRIES) cache.clear();
+		}
+		
+		cache.put(key, new Entry(count, now));
+		
+		return count;
+	}
+	
+	
+	/** 게시글 작성/삭제 커밋 후 해당 게시판 게시글 수 제거 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBoardChanged(BoardChangedEvent event) {
+		
+		if(event.getType() != ChangeType.INSERT && event.getType() != ChangeType.DELETE) return;
+		
+		String prefix = event.getBoardCode() + ":";
+		
+		cache.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+	
+	
+	private record Entry(int count, long loadedAt) {}
+	
+}
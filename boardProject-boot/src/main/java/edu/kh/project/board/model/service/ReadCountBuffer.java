@@ -0,0 +1,211 @@
+package edu.kh.project.board.model.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.kh.project.board.model.mapper.BoardMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** 조회 수 쓰기 지연(write-behind) 버퍼
+ * 
+ * - 상세 조회 시마다 UPDATE 하지 않고 게시글 번호별 LongAdder 에 증가분을 누적
+ *   -> 인기 게시글 한 행에 행 잠금(row lock)이 몰리지 않음
+ * - 누적된 증가분은 일정 주기마다, 서버 종료 시, 허용 유실량 초과 시
+ *   한 번의 일괄 UPDATE 로 DB에 반영
+ */
+@Slf4j
+@Component
+public class ReadCountBuffer {
+
+	// 한 번의 UPDATE 로 반영할 최대 게시글 수 (IN 절 최대 1000개 제한)
+	private static final int BATCH_SIZE = 500;
+	
+	// 반영 대기 게시글이 이 수를 넘으면 증가분이 0인 항목 정리
+	private static final int MAX_ENTRIES = 100_000;
+
+	private final BoardMapper mapper;
+	
+	// 항상 새 트랜잭션에서 반영
+	// -> 요청 스레드에서 바로 반영하는 경우에도 조회 요청의 트랜잭션에 참여하지 않음
+	//    (반영이 실패해도 조회 요청이 rollback-only 가 되지 않음)
+	private final TransactionTemplate transactionTemplate;
+	
+	// 비정상 종료 시 유실을 허용하는 최대 조회 수
+	@Value("${my.board.read-count.max-pending:1000}")
+	private long maxPending;
+
+	// 게시글 번호별 반영 대기 중인 조회 수 증가분
+	private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+	
+	// 전체 반영 대기 중인 조회 수 증가분
+	private final LongAdder pendingTotal = new LongAdder();
+	
+	// 일괄 반영은 한 번에 하나의 스레드만 수행
+	private final ReentrantLock flushLock = new ReentrantLock();
+	
+	
+	public ReadCountBuffer(BoardMapper mapper, PlatformTransactionManager transactionManager) {
+		this.mapper = mapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+	
+	
+	/** 조회 수 1 증가 (메모리에 누적)
+	 * @param boardNo
+	 */
+	public void increase(int boardNo) {
+		
+		add(boardNo, 1);
+		pendingTotal.increment();
+		
+		// 허용 유실량을 넘으면 주기를 기다리지 않고 바로 반영
+		// (이미 다른 스레드가 반영 중이면 기다리지 않음)
+		if(pendingTotal.sum() >= maxPending && flushLock.tryLock()) {
+			try {
+				flushPending();
+			} finally {
+				flushLock.unlock();
+			}
+		}
+	}
+	
+	
+	/** 게시글 증가분 누적
+	 * - 정리(sweep)로 방금 제거된 LongAdder 에 더한 경우
+	 *   -> 제거된 LongAdder 의 남은 값을 꺼내서(sumThenReset) 다시 추가
+	 *   -> 정리하는 쪽도 제거 후 남은 값을 꺼내서 다시 추가하므로
+	 *      증가분은 둘 중 한 곳에서 한 번만 옮겨짐 (유실 X, 중복 X)
+	 */
+	private void add(int boardNo, long delta) {
+		
+		while(delta > 0) {
+			
+			LongAdder adder = pending.computeIfAbsent(boardNo, k -> new LongAdder());
+			adder.add(delta);
+			
+			if(pending.get(boardNo) == adder) return;
+			
+			delta = adder.sumThenReset();
+		}
+	}
+	
+	
+	/** 아직 DB에 반영되지 않은 조회 수 증가분 조회
+	 * @param boardNo
+	 * @return 반영 대기 중인 증가분
+	 */
+	public long getPending(int boardNo) {
+		LongAdder adder = pending.get(boardNo);
+		return adder == null ? 0 : adder.sum();
+	}
+	
+	
+	/** 누적된 조회 수 증가분을 DB에 일괄 반영
+	 * - fixedDelay : 이전 반영이 끝난 후 설정된 시간(ms) 뒤에 다시 수행
+	 */
+	@Scheduled(fixedDelayString = "${my.board.read-count.flush-interval:5000}")
+	public void flush() {
+		
+		flushLock.lock();
+		
+		try {
+			flushPending();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+	
+	
+	// 서버 종료 시 남아있는 증가분 반영
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+	
+	
+	/** 반영 대기 중인 증가분을 꺼내서 DB에 반영 (flushLock 보유 상태에서 호출) */
+	private void flushPending() {
+		
+		List<Map<String, Object>> deltaList = new ArrayList<>();
+		long total = 0;
+		
+		for(Map.Entry<Integer, LongAdder> entry : pending.entrySet()) {
+			
+			// sumThenReset() : 현재까지 누적된 값을 반환하고 0으로 초기화
+			// -> 동시에 증가된 값은 반환값 또는 남은 값 중 한 곳에만 포함됨
+			long delta = entry.getValue().sumThenReset();
+			
+			if(delta == 0) continue;
+			
+			Map<String, Object> map = new HashMap<>();
+			map.put("boardNo", entry.getKey());
+			map.put("delta", delta);
+			
+			deltaList.add(map);
+			total += delta;
+		}
+		
+		// 오래 조회되지 않은 게시글 항목 정리 (메모리 제한)
+		if(pending.size() > MAX_ENTRIES) {
+			
+			for(Map.Entry<Integer, LongAdder> entry : pending.entrySet()) {
+				
+				LongAdder adder = entry.getValue();
+				
+				// 같은 LongAdder 인 경우에만 제거 후,
+				// 확인과 제거 사이에 증가된 값이 있으면 다시 추가
+				if(adder.sum() == 0 && pending.remove(entry.getKey(), adder)) {
+					add(entry.getKey(), adder.sumThenReset());
+				}
+			}
+		}
+		
+		if(deltaList.isEmpty()) return;
+		
+		pendingTotal.add(-total);
+		
+		try {
+			
+			// BOARD, BOARD_STATS 조회 수를 하나의 트랜잭션으로 반영
+			transactionTemplate.executeWithoutResult(status -> {
+				
+				for(int i = 0; i < deltaList.size(); i += BATCH_SIZE) {
+					
+					List<Map<String, Object>> batch = 
+							deltaList.subList(i, Math.min(i + BATCH_SIZE, deltaList.size()));
+					
+					mapper.updateReadCountBatch(batch);
+					mapper.updateStatsReadCountBatch(batch);
+				}
+			});
+			
+			log.debug("조회 수 일괄 반영 : 게시글 {}개, 증가분 {}", deltaList.size(), total);
+			
+		} catch (Exception e) {
+			
+			// 반영 실패 시 증가분을 다시 버퍼에 되돌려 다음 주기에 재시도
+			for(Map<String, Object> map : deltaList) {
+				add((Integer)map.get("boardNo"), (Long)map.get("delta"));
+			}
+			
+			pendingTotal.add(total);
+			
+			log.error("조회 수 일괄 반영 실패", e);
+		}
+	}
+	
+}
@@ -35,6 +35,12 @@ public interface ChattingMapper {
      * @return chattingNo
      */
     public int createChattingRoom(Map<String, Integer> map);
+    
+    /** 채팅방 요약 행 삽입 (개설자, 참여자 각각 1행)
+     * @param map : chattingRoomNo, loginMemberNo, targetNo
+     * @return result
+     */
+    public int insertRoomSummary(Map<String, Integer> map);
 
     /** 메시지 조회
      * @param object
@@ -47,6 +53,12 @@ public interface ChattingMapper {
      * @return
      */
     public int updateReadFlag(Map<String, Integer> paramMap);
+    
+    /** 채팅방 요약의 안 읽은 메세지 수 초기화
+     * @param paramMap : chattingRoomNo, memberNo
+     * @return result
+     */
+    public int resetNotReadCount(Map<String, Integer> paramMap);
 
     
     /** 채팅 입력
@@ -54,6 +66,12 @@ public interface ChattingMapper {
      * @return
      */
     public int insertMessage(Message msg);
+    
+    /** 채팅방 요약 갱신 (마지막 메세지, 안 읽은 메세지 수)
+     * @param map : chattingRoomNo, senderNo, count(보낸 메세지 수)
+     * @return result
+     */
+    public int updateRoomSummary(Map<String, Integer> map);
 
 	
 }
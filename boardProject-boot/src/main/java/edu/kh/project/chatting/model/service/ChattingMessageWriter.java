@@ -0,0 +1,281 @@
+package edu.kh.project.chatting.model.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.kh.project.chatting.model.dto.Message;
+import edu.kh.project.chatting.model.mapper.ChattingMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** 채팅 메세지 일괄 저장 (group commit)
+ *
+ * - BATCH : 모든 채팅방의 메세지를 대기열에 모아서 한 트랜잭션으로 저장
+ *   -> batch-size 개가 모이거나 첫 메세지 후 max-delay(ms)가 지나면 저장
+ *   -> INSERT 는 MyBatis BATCH 실행기(JDBC addBatch/executeBatch)로 한 번에 전송
+ *   -> 커밋이 끝난 후 각 메세지의 CompletableFuture 완료 (저장된 메세지만 전달)
+ *   -> 저장 중에 들어온 메세지는 다음 묶음으로 (부하가 클수록 묶음이 커짐)
+ *   -> 채팅방 요약(CHATTING_ROOM_SUMMARY)은 채팅방/보낸 회원별로 한 번만 갱신
+ * - DIRECT : 메세지마다 바로 저장 (한 메세지 == 한 트랜잭션)
+ * - 묶음 저장이 실패하면 하나씩 다시 저장 (문제 있는 메세지만 실패)
+ */
+@Slf4j
+@Component
+public class ChattingMessageWriter {
+
+	public enum Mode { BATCH, DIRECT }
+
+	/** 메세지 저장 (한 번 호출 == 한 트랜잭션) */
+	@FunctionalInterface
+	interface MessageStore {
+		void insert(List<Message> messageList) throws Exception;
+	}
+
+	private final MessageStore store;
+
+	private final Mode mode;
+
+	// 한 번에 저장할 최대 메세지 수
+	private final int batchSize;
+
+	// 메세지를 더 모으기 위해 기다리는 최대 시간
+	private final long maxDelayNanos;
+
+	// 저장 대기 메세지
+	private final BlockingQueue<Pending> queue;
+
+	// 저장 스레드 (BATCH 모드)
+	private final Thread writerThread;
+
+	private volatile boolean running = true;
+
+	private final LongAdder batchCount = new LongAdder();
+	private final LongAdder messageCount = new LongAdder();
+
+
+	@Autowired
+	public ChattingMessageWriter(SqlSessionFactory sqlSessionFactory, TransactionTemplate transactionTemplate,
+			@Value("${my.chatting.write.mode:BATCH}") Mode mode,
+			@Value("${my.chatting.write.batch-size:200}") int batchSize,
+			@Value("${my.chatting.write.max-delay:2}") long maxDelay,
+			@Value("${my.chatting.write.queue-capacity:10000}") int queueCapacity) {
+
+		this(batchStore(sqlSessionFactory, transactionTemplate), mode, batchSize, maxDelay, queueCapacity);
+	}
+
+
+	ChattingMessageWriter(MessageStore store, Mode mode, int batchSize, long maxDelay, int queueCapacity) {
+
+		this.store = store;
+		this.mode = mode;
+		this.batchSize = batchSize;
+		this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		if (mode == Mode.BATCH) {
+			writerThread = Thread.ofPlatform().name("chatting-writer").daemon().start(this::run);
+		} else {
+			writerThread = null;
+		}
+	}
+
+
+	/** INSERT 를 BATCH 실행기로 모아서 한 트랜잭션으로 저장 */
+	private static MessageStore batchStore(SqlSessionFactory sqlSessionFactory, TransactionTemplate transactionTemplate) {
+
+		// BATCH 실행기 : INSERT 를 addBatch 로 모았다가 flushStatements() 때 한 번에 전송
+		SqlSessionTemplate batchTemplate = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+
+		ChattingMapper batchMapper = batchTemplate.getMapper(ChattingMapper.class);
+
+		return messageList -> transactionTemplate.executeWithoutResult(status -> {
+
+			for (Message msg : messageList) batchMapper.insertMessage(msg);
+			
+			// 메세지 삽입 후 채팅방 요약 갱신 (마지막 메세지 = 방금 삽입한 메세지)
+			for (Map<String, Integer> summary : roomSummaryList(messageList)) batchMapper.updateRoomSummary(summary);
+
+			// 커밋 전에 전송 -> 오류가 있으면 여기서 예외 발생 후 롤백
+			batchTemplate.flushStatements();
+		});
+	}
+
+
+	/** 채팅방 요약 갱신 목록 : 채팅방 + 보낸 회원별 메세지 수
+	 *  (채팅방 번호 순 -> 여러 서버가 동시에 저장해도 요약 행을 같은 순서로 잠금)
+	 */
+	static List<Map<String, Integer>> roomSummaryList(List<Message> messageList) {
+
+		// 채팅방 번호 -> (보낸 회원 번호 -> 메세지 수)
+		Map<Integer, Map<Integer, Integer>> counts = new TreeMap<>();
+
+		for (Message msg : messageList) {
+			counts.computeIfAbsent(msg.getChattingRoomNo(), k -> new TreeMap<>())
+				  .merge(msg.getSenderNo(), 1, Integer::sum);
+		}
+
+		List<Map<String, Integer>> summaryList = new ArrayList<>();
+
+		counts.forEach((chattingRoomNo, senders) -> senders.forEach((senderNo, count) ->
+			summaryList.add(Map.of("chattingRoomNo", chattingRoomNo, "senderNo", senderNo, "count", count))));
+
+		return summaryList;
+	}
+
+
+	/** 메세지 저장 요청
+	 * @param msg
+	 * @return 저장(커밋) 완료 시 완료되는 future (저장 실패 시 예외로 완료)
+	 */
+	public CompletableFuture<Message> write(Message msg) {
+
+		if (mode == Mode.DIRECT) {
+			try {
+				store.insert(List.of(msg));
+				messageCount.increment();
+				batchCount.increment();
+				return CompletableFuture.completedFuture(msg);
+
+			} catch (Exception e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		Pending pending = new Pending(msg, new CompletableFuture<>());
+
+		// 대기열이 가득 차면 기다리지 않고 실패 처리 (메세지 수신 스레드를 막지 않음)
+		if (!running || !queue.offer(pending)) {
+			pending.future.completeExceptionally(new RejectedExecutionException("채팅 메세지 저장 대기열 초과"));
+		}
+
+		return pending.future;
+	}
+
+
+	/** 저장한 묶음 수, 메세지 수 */
+	public long getBatchCount() {
+		return batchCount.sum();
+	}
+
+	public long getMessageCount() {
+		return messageCount.sum();
+	}
+
+
+	// 서버 종료 시 대기 중인 메세지 저장 후 종료
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+
+		running = false;
+
+		if (writerThread != null) writerThread.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+
+	/** 저장 스레드 : 메세지를 묶음으로 꺼내서 저장 */
+	private void run() {
+
+		List<Pending> batch = new ArrayList<>(batchSize);
+
+		while (running || !queue.isEmpty()) {
+
+			try {
+				Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+
+				if (first == null) continue;
+
+				batch.add(first);
+
+				long deadline = System.nanoTime() + maxDelayNanos;
+
+				while (batch.size() < batchSize) {
+
+					// 이미 쌓인 메세지는 기다리지 않고 꺼냄
+					if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+
+					long remaining = deadline - System.nanoTime();
+
+					if (remaining <= 0 || !running) break;
+
+					Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+					if (next == null) break;
+
+					batch.add(next);
+				}
+
+				flush(batch);
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+
+	/** 묶음 저장 후 future 완료 */
+	private void flush(List<Pending> batch) {
+
+		List<Message> messageList = new ArrayList<>(batch.size());
+
+		for (Pending pending : batch) messageList.add(pending.message);
+
+		try {
+			store.insert(messageList);
+
+			batchCount.increment();
+			messageCount.add(batch.size());
+
+			for (Pending pending : batch) pending.future.complete(pending.message);
+
+		} catch (Exception e) {
+
+			if (batch.size() == 1) {
+				batch.get(0).future.completeExceptionally(e);
+				return;
+			}
+
+			// 한 메세지 때문에 묶음 전체가 롤백된 경우 -> 하나씩 다시 저장
+			log.warn("채팅 메세지 일괄 저장 실패, 개별 저장 재시도 : {}개", batch.size(), e);
+
+			for (Pending pending : batch) {
+				try {
+					store.insert(List.of(pending.message));
+
+					batchCount.increment();
+					messageCount.increment();
+
+					pending.future.complete(pending.message);
+
+				} catch (Exception ex) {
+					pending.future.completeExceptionally(ex);
+				}
+			}
+		}
+	}
+
+
+	/** 저장 대기 메세지 + 완료 알림 */
+	private record Pending(Message message, CompletableFuture<Message> future) {}
+
+}
@@ -38,6 +38,8 @@ public class ChattingServiceImpl implements ChattingService{
     	int result = mapper.createChattingRoom(map);
     	
     	if(result > 0) {
+    		// 두 회원의 채팅방 목록 요약 행
+    		mapper.insertRoomSummary(map);
     		return (int)map.get("chattingRoomNo");
     	}
     	
@@ -47,6 +49,10 @@ public class ChattingServiceImpl implements ChattingService{
     // 읽음 표시 업데이트
     @Override
     public int updateReadFlag(Map<String, Integer> paramMap) {
+    	
+    	// 요약 행을 먼저 갱신(행 잠금) -> 동시에 저장되는 메세지는
+    	// 이 트랜잭션 이후에 안 읽은 수가 증가하므로 메세지 READ_FL 과 어긋나지 않음
+    	mapper.resetNotReadCount(paramMap);
         return mapper.updateReadFlag(paramMap);
     }
     
@@ -58,7 +64,7 @@ public class ChattingServiceImpl implements ChattingService{
         List<Message> messageList = mapper.selectMessageList(  paramMap.get("chattingRoomNo") );
         
         if(!messageList.isEmpty()) { // 메시지 목록이 있다면
-            int result = mapper.updateReadFlag(paramMap);
+            int result = updateReadFlag(paramMap);
         }
         return messageList;
     }
@@ -72,7 +78,17 @@ public class ChattingServiceImpl implements ChattingService{
 	// 채팅 입력
 	@Override
 	public int insertMessage(Message msg) {
-		return mapper.insertMessage(msg);
+		
+		int result = mapper.insertMessage(msg);
+		
+		if(result > 0) {
+			mapper.updateRoomSummary(Map.of(
+					"chattingRoomNo", msg.getChattingRoomNo(),
+					"senderNo", msg.getSenderNo(),
+					"count", 1));
+		}
+		
+		return result;
 	}
 	
 
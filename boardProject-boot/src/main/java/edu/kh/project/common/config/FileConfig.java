@@ -1,20 +1,31 @@
 package edu.kh.project.common.config;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.web.servlet.MultipartConfigFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.support.StandardServletMultipartResolver;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
+import edu.kh.project.image.model.service.ImageVariantStore;
 import jakarta.servlet.MultipartConfigElement;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
 @PropertySource("classpath:/config.properties")
+@RequiredArgsConstructor
 public class FileConfig implements WebMvcConfigurer{
 	
 	// WebMvcConfigurer : Spring MVC 프레임워크에서 제공하는 인터페이스 중 하나로,
@@ -54,6 +65,21 @@ public class FileConfig implements WebMvcConfigurer{
 	@Value("${my.board.resource-location}")
 	private String boardResourceLocation;  //  file:///C:/uploadFiles/board/
 	
+	// 게시판 축소 이미지 생성 + 디스크 캐시
+	private final ImageVariantStore imageVariantStore;
+	
+	// ---------------------------------------------------------
+	// 업로드 파일 응답 캐시 설정
+	
+	// immutable : 브라우저가 max-age 동안 재요청 X
+	// revalidate : 매번 ETag/Last-Modified 로 변경 여부 확인 (변경 없으면 304)
+	@Value("${my.file.serving.mode:immutable}")
+	private String servingMode;
+	
+	// 캐시 기간(초)
+	@Value("${my.file.serving.max-age:31536000}")
+	private long servingMaxAge;
+	
 	
 
 	
@@ -70,23 +96,92 @@ public class FileConfig implements WebMvcConfigurer{
 		
 		registry
 		.addResourceHandler("/myPage/file/**") // 클라이언트 요청 주소 패턴
-		.addResourceLocations("file:///C:/uploadFiles/test/"); // 요청을 연결해서 처리해줄 서버 폴더 경로
+		.addResourceLocations("file:///C:/uploadFiles/test/") // 요청을 연결해서 처리해줄 서버 폴더 경로
 		// 클라이언트가 /myPage/file/** 패턴으로 이미지를 요청할 때
 		// 서버 폴더 경로 중 file:///C:/uploadFiles/test/  로 연결하겠다 
 		
+		// 원본 파일명 그대로 저장(덮어쓰기)되는 폴더이므로 항상 재검증
+		.setCacheControl(CacheControl.noCache())
+		.setEtagGenerator(FileConfig::fileEtag);
+		
+		
+		// 프로필, 게시판 이미지 파일명(변경명)은 업로드마다 새로 만들어져 내용이 바뀌지 않음
+		// -> 파일명을 ETag 로 사용, 설정에 따라 오래 캐시
+		// (축소 이미지는 "너비_변경명" 이므로 원본과 다른 ETag)
 		
 		registry
 		.addResourceHandler(profileResourceHandler) //  /myPage/profile/**
-		.addResourceLocations(profileResourceLocation); //  file:///C:/uploadFiles/profile/
+		.addResourceLocations(profileResourceLocation) //  file:///C:/uploadFiles/profile/
+		.setCacheControl(uploadCacheControl())
+		.setEtagGenerator(resource -> resource.getFilename());
 		
 		
 		
 		registry
 		.addResourceHandler(boardResourceHandler)  //  /images/board/**
-		.addResourceLocations(boardResourceLocation);  //  file:///C:/uploadFiles/board/
+		.addResourceLocations(boardResourceLocation)  //  file:///C:/uploadFiles/board/
+		.setCacheControl(uploadCacheControl())
+		.setEtagGenerator(resource -> resource.getFilename())
+		// ?w=너비 요청 시 축소 이미지로 응답
+		// (resourceChain(false) : 조회 결과를 요청 경로로 캐시하지 않음 -> w 별로 다른 결과)
+		.resourceChain(false)
+		.addResolver(new ImageVariantResourceResolver(imageVariantStore));
+		
+		// 범위 요청(Range), If-None-Match / If-Modified-Since(304) 는
+		// ResourceHttpRequestHandler 가 처리
+
+	}
+	
+	
+	/** 변경명 파일 응답의 Cache-Control */
+	private CacheControl uploadCacheControl() {
 		
+		if(servingMode.equals("revalidate")) return CacheControl.noCache();
 		
-
+		return CacheControl.maxAge(servingMaxAge, TimeUnit.SECONDS).cachePublic().immutable();
+	}
+	
+	
+	/** 덮어쓸 수 있는 파일의 ETag (수정 시간 + 크기) */
+	private static String fileEtag(Resource resource) {
+		try {
+			return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+		} catch (IOException e) {
+			return null; // Last-Modified 로만 확인
+		}
+	}
+	
+	
+	/** 정적 파일 응답 본문을 sendfile 로 전송하도록 변환기 교체
+	 * - ResourceHandlerRegistry 는 변환기 설정을 제공하지 않으므로
+	 *   생성된 ResourceHttpRequestHandler 에 직접 지정
+	 * - static : 설정 클래스보다 먼저 생성되어야 하는 BeanPostProcessor
+	 */
+	@Bean
+	public static BeanPostProcessor sendfileResourceHandlerPostProcessor(
+			@Value("${my.file.serving.sendfile-min-size:49152}") long sendfileMinSize) {
+		
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				
+				if(bean instanceof SimpleUrlHandlerMapping mapping) {
+					
+					for(Object handler : mapping.getUrlMap().values()) {
+						
+						if(handler instanceof ResourceHttpRequestHandler resourceHandler) {
+							resourceHandler.setResourceHttpMessageConverter(
+									new SendfileResourceHttpMessageConverter(sendfileMinSize));
+							resourceHandler.setResourceRegionHttpMessageConverter(
+									new SendfileResourceRegionHttpMessageConverter(sendfileMinSize));
+						}
+					}
+				}
+				
+				return bean;
+			}
+		};
 	}
 	
 	
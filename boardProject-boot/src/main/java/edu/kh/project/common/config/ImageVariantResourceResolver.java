@@ -0,0 +1,66 @@
+package edu.kh.project.common.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import edu.kh.project.image.model.service.ImageVariantStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시글 이미지 요청에 ?w=너비 가 있으면 축소 이미지로 응답하는 ResourceResolver
+ * 
+ * ex) /images/board/20241112100105_3hk2ab9x0q4g.jpg?w=320
+ *     -> 캐시 폴더의 320_20241112100105_3hk2ab9x0q4g.jpg
+ * 
+ * - w 가 없거나 변환할 수 없는 이미지이면 원본 그대로 응답
+ * - 원본 찾기는 다음 Resolver(PathResourceResolver)에 맡김
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ImageVariantResourceResolver implements ResourceResolver {
+
+	private final ImageVariantStore store;
+
+	@Override
+	public Resource resolveResource(HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		Resource original = chain.resolveResource(request, requestPath, locations);
+
+		if (original == null || request == null) return original;
+
+		String w = request.getParameter("w");
+
+		if (w == null || !store.isSupported(requestPath)) return original;
+
+		try {
+			int width = store.normalizeWidth(Integer.parseInt(w));
+
+			Path variant = store.getVariant(original.getFile().toPath(), width);
+
+			return new FileSystemResource(variant);
+
+		} catch (NumberFormatException e) {
+			return original;
+
+		} catch (IOException e) {
+			// 변환 실패 시 원본으로 응답
+			log.warn("축소 이미지 생성 실패 : {}?w={}", requestPath, w, e);
+			return original;
+		}
+	}
+
+	@Override
+	public String resolveUrlPath(String resourcePath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		return chain.resolveUrlPath(resourcePath, locations);
+	}
+
+}
@@ -0,0 +1,89 @@
+package edu.kh.project.common.config;
+
+import java.io.IOException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/** 파일 응답 본문을 Tomcat sendfile 로 전송하는 ResourceHttpMessageConverter
+ *
+ * - 기본 변환기 : 파일을 읽어서 응답 스트림에 복사 (JVM 메모리를 거쳐 전송)
+ * - sendfile : 요청 속성에 파일 경로/범위만 지정하면 요청 처리 후 Tomcat 이
+ *   FileChannel.transferTo 로 파일을 소켓에 바로 전송 (zero-copy)
+ * - 디스크 파일이 아니거나, 작은 파일이거나, 커넥터가 지원하지 않으면 기본 방식으로 전송
+ */
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+	// Tomcat 이 sendfile 지원 여부를 알려주는 요청 속성
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+	// sendfile 로 전송할 파일 경로, 시작 위치, 끝 위치(미포함)
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	// 이 크기 이상인 파일만 sendfile 사용 (작은 파일은 복사가 더 빠름)
+	private final long minSize;
+
+	public SendfileResourceHttpMessageConverter(long minSize) {
+		this.minSize = minSize;
+	}
+
+	@Override
+	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+
+		long length = resource.contentLength();
+
+		HttpServletRequest request = sendfileRequest(resource, length, outputMessage, minSize);
+
+		if (request == null) {
+			super.writeContent(resource, outputMessage);
+			return;
+		}
+
+		sendfile(request, resource, 0, length, outputMessage);
+	}
+
+
+	/** sendfile 로 전송 가능한지 확인
+	 * @return 가능하면 현재 요청 (불가능하면 null)
+	 */
+	static HttpServletRequest sendfileRequest(Resource resource, long count,
+			HttpOutputMessage outputMessage, long minSize) {
+
+		if (minSize < 0 || count < minSize || !resource.isFile()) return null;
+
+		// 헤더를 서블릿 응답에 반영할 수 있어야 함
+		if (!(outputMessage instanceof ServletServerHttpResponse)) return null;
+
+		if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return null;
+
+		HttpServletRequest request = attributes.getRequest();
+
+		return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) ? request : null;
+	}
+
+
+	/** 파일의 start ~ end(미포함) 범위를 sendfile 로 전송하도록 지정
+	 * (본문은 쓰지 않고 헤더만 반영 -> 요청 처리가 끝나면 Tomcat 이 전송)
+	 */
+	static void sendfile(HttpServletRequest request, Resource resource, long start, long end,
+			HttpOutputMessage outputMessage) throws IOException {
+
+		request.setAttribute(SENDFILE_FILENAME, resource.getFile().getCanonicalPath());
+		request.setAttribute(SENDFILE_START, start);
+		request.setAttribute(SENDFILE_END, end);
+
+		// ServletServerHttpResponse 는 getBody() 호출 시 헤더를 서블릿 응답에 반영
+		outputMessage.getBody();
+	}
+
+}
@@ -0,0 +1,57 @@
+package edu.kh.project.common.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/** 범위 요청(Range: bytes=시작-끝) 응답을 Tomcat sendfile 로 전송하는 변환기
+ *
+ * - 범위가 1개인 경우만 sendfile 사용 (여러 범위는 multipart 응답이므로 기본 방식)
+ * - 전송 조건은 SendfileResourceHttpMessageConverter 와 같음
+ */
+public class SendfileResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+	private final long minSize;
+
+	public SendfileResourceRegionHttpMessageConverter(long minSize) {
+		this.minSize = minSize;
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+
+		if (object instanceof ResourceRegion region) {
+
+			Resource resource = region.getResource();
+
+			long length = resource.contentLength();
+			long start = region.getPosition();
+			long end = Math.min(start + region.getCount(), length); // 미포함
+
+			HttpServletRequest request = SendfileResourceHttpMessageConverter
+					.sendfileRequest(resource, end - start, outputMessage, minSize);
+
+			if (request != null) {
+
+				HttpHeaders headers = outputMessage.getHeaders();
+				headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+				headers.setContentLength(end - start);
+
+				SendfileResourceHttpMessageConverter.sendfile(request, resource, start, end, outputMessage);
+				return;
+			}
+		}
+
+		super.writeInternal(object, type, outputMessage);
+	}
+
+}
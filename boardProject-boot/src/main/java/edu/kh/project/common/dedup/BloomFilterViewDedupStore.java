@@ -0,0 +1,237 @@
+package edu.kh.project.common.dedup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** 날짜별로 교체되는 블룸 필터(Bloom filter) 조회 중복 판별 저장소
+ * 
+ * - (조회자, 게시글 번호) 를 k개의 비트 위치로 해싱해서 비트 배열에 기록
+ *   -> 조회 1회당 O(1), 메모리 사용량 고정 (쿠키 송수신 없음)
+ * - 날짜가 바뀌면 새 비트 배열로 교체 (자정 기준 초기화)
+ * - 거짓 양성(false positive) 확률만큼 처음 조회가 중복으로 판별될 수 있음
+ *   (거짓 음성은 없음)
+ * - snapshot-path 가 지정되면 주기적으로/종료 시 파일에 저장하고
+ *   재시작 시 같은 날짜의 기록을 복원
+ */
+@Slf4j
+@Component
+public class BloomFilterViewDedupStore implements ViewDedupStore {
+
+	// 하루 동안 예상되는 (조회자, 게시글) 조합 수
+	@Value("${my.board.view-dedup.expected-views:1000000}")
+	private long expectedViews;
+	
+	// 허용하는 거짓 양성 확률
+	@Value("${my.board.view-dedup.false-positive-rate:0.001}")
+	private double falsePositiveRate;
+	
+	// 스냅샷 파일 경로 (빈 값이면 파일 저장 안함)
+	@Value("${my.board.view-dedup.snapshot-path:}")
+	private String snapshotPath;
+	
+	// 비트 배열 크기, 해시 함수 개수
+	private int bitCount;
+	private int hashCount;
+	
+	// 오늘 날짜의 필터
+	private volatile DailyFilter current;
+	
+	
+	// 필터 크기 계산 + 스냅샷 복원
+	@PostConstruct
+	public void init() {
+		
+		// m = -n * ln(p) / (ln2)^2 ,  k = m / n * ln2
+		double m = -expectedViews * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+		
+		bitCount = (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64, (long) Math.ceil(m)));
+		hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedViews * Math.log(2)));
+		
+		current = loadSnapshot();
+		
+		if(current == null) current = new DailyFilter(LocalDate.now(), bitCount);
+		
+		log.info("조회 중복 판별 필터 : {} bits({}KB), 해시 {}개", 
+				bitCount, bitCount / 8 / 1024, hashCount);
+	}
+	
+	
+	@Override
+	public boolean markViewed(String viewerKey, int boardNo) {
+		
+		DailyFilter filter = currentFilter();
+		
+		// 64비트 해시 2개로 k개의 비트 위치 생성 (double hashing)
+		long h1 = hash(viewerKey, boardNo);
+		long h2 = mix(h1) | 1; // 홀수로 만들어서 위치가 한 곳에 몰리지 않게 함
+		
+		boolean newBit = false;
+		
+		for(int i = 0 ; i < hashCount ; i++) {
+			
+			int index = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+			
+			// 하나라도 새로 켜진 비트가 있으면 처음 조회
+			if(filter.set(index)) newBit = true;
+		}
+		
+		return newBit;
+	}
+	
+	
+	/** 현재 날짜의 필터 반환 (날짜가 바뀌었으면 새 필터로 교체) */
+	private DailyFilter currentFilter() {
+		
+		DailyFilter filter = current;
+		LocalDate today = LocalDate.now();
+		
+		if(!filter.date.equals(today)) {
+			
+			synchronized (this) {
+				if(!current.date.equals(today)) {
+					current = new DailyFilter(today, bitCount);
+				}
+				filter = current;
+			}
+		}
+		
+		return filter;
+	}
+	
+	
+	// 10분마다 스냅샷 저장
+	@Scheduled(fixedDelay = 600000, initialDelay = 600000)
+	public void saveSnapshot() {
+		
+		if(snapshotPath.isBlank()) return;
+		
+		DailyFilter filter = current;
+		Path path = Paths.get(snapshotPath);
+		Path temp = Paths.get(snapshotPath + ".tmp");
+		
+		// 임시 파일에 기록 후 교체 (저장 도중 종료되어도 이전 스냅샷 유지)
+		try(DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+			
+			out.writeLong(filter.date.toEpochDay());
+			out.writeInt(bitCount);
+			
+			for(int i = 0 ; i < filter.words.length() ; i++) {
+				out.writeLong(filter.words.get(i));
+			}
+			
+		} catch (IOException e) {
+			log.error("조회 중복 판별 스냅샷 저장 실패", e);
+			return;
+		}
+		
+		try {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.error("조회 중복 판별 스냅샷 저장 실패", e);
+		}
+	}
+	
+	
+	// 서버 종료 시 스냅샷 저장
+	@PreDestroy
+	public void shutdown() {
+		saveSnapshot();
+	}
+	
+	
+	/** 오늘 날짜 + 같은 크기의 스냅샷이 있으면 복원 */
+	private DailyFilter loadSnapshot() {
+		
+		if(snapshotPath.isBlank()) return null;
+		
+		Path path = Paths.get(snapshotPath);
+		
+		if(!Files.exists(path)) return null;
+		
+		try(DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+			
+			LocalDate date = LocalDate.ofEpochDay(in.readLong());
+			
+			// 날짜가 지났거나 설정이 바뀐 경우 사용하지 않음
+			if(!date.equals(LocalDate.now()) || in.readInt() != bitCount) return null;
+			
+			DailyFilter filter = new DailyFilter(date, bitCount);
+			
+			for(int i = 0 ; i < filter.words.length() ; i++) {
+				filter.words.set(i, in.readLong());
+			}
+			
+			return filter;
+			
+		} catch (IOException e) {
+			log.warn("조회 중복 판별 스냅샷 복원 실패 : {}", e.getMessage());
+			return null;
+		}
+	}
+	
+	
+	/** (조회자, 게시글 번호) 64비트 해시 (FNV-1a) */
+	private static long hash(String viewerKey, int boardNo) {
+		
+		long h = 0xcbf29ce484222325L;
+		
+		for(int i = 0 ; i < viewerKey.length() ; i++) {
+			h ^= viewerKey.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		
+		h ^= boardNo;
+		h *= 0x100000001b3L;
+		
+		return mix(h);
+	}
+	
+	
+	/** 비트를 고르게 섞는 함수 (SplitMix64 finalizer) */
+	private static long mix(long h) {
+		h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+		h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+		return h ^ (h >>> 31);
+	}
+	
+	
+	/** 하루치 비트 배열 */
+	private static class DailyFilter {
+		
+		private final LocalDate date;
+		private final AtomicLongArray words;
+		
+		private DailyFilter(LocalDate date, int bitCount) {
+			this.date = date;
+			this.words = new AtomicLongArray((bitCount + 63) / 64);
+		}
+		
+		/** index 위치 비트를 켜고, 새로 켜진 경우 true */
+		private boolean set(int index) {
+			
+			long mask = 1L << (index & 63);
+			int word = index >>> 6;
+			
+			// 이미 켜져 있으면 쓰기 없이 반환
+			if((words.get(word) & mask) != 0) return false;
+			
+			return (words.getAndAccumulate(word, mask, (a, b) -> a | b) & mask) == 0;
+		}
+	}
+	
+}
@@ -0,0 +1,18 @@
+package edu.kh.project.common.dedup;
+
+/** 게시글 조회 중복 판별 저장소
+ * 
+ * - 같은 조회자(회원 번호 또는 클라이언트 식별값)가
+ *   같은 게시글을 하루에 한 번만 조회 수를 증가시키도록 판별
+ * - 구현체를 교체해서 저장 방식(메모리, 파일, 외부 저장소 등)을 바꿀 수 있음
+ */
+public interface ViewDedupStore {
+
+	/** 오늘 처음 조회한 게시글인지 확인 후 조회 기록 남기기
+	 * @param viewerKey : 조회자 식별값 (회원 : "M" + 회원 번호, 비회원 : "G" + ip|User-Agent)
+	 * @param boardNo : 게시글 번호
+	 * @return 오늘 처음 조회한 경우 true, 이미 조회한 경우 false
+	 */
+	boolean markViewed(String viewerKey, int boardNo);
+	
+}
@@ -0,0 +1,32 @@
+package edu.kh.project.common.scheduling;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import edu.kh.project.board.model.service.BoardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 게시글 통계(BOARD_STATS) 재계산 스케줄러
+ * 
+ * 댓글/좋아요/조회 수는 각 서비스에서 증감하며 유지되지만
+ * 수동 데이터 수정 등으로 어긋날 수 있으므로
+ * 주기적으로 원본 테이블을 집계해서 다시 맞춤
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardStatsScheduling {
+	
+	private final BoardService service;
+	
+	// 매일 새벽 4시
+	@Scheduled(cron = "0 0 4 * * *")
+	public void rebuild() {
+		
+		int result = service.rebuildBoardStats();
+		
+		log.info("게시글 통계 재계산 완료 : {}행", result);
+	}
+	
+}
@@ -1,8 +1,17 @@
 package edu.kh.project.common.scheduling;
 
-import java.io.File;
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
@@ -10,16 +19,50 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import edu.kh.project.board.model.service.BoardService;
+import edu.kh.project.common.util.ContentHashStore;
+import edu.kh.project.image.model.dto.ImageDeref;
+import edu.kh.project.image.model.service.ImageRegistryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/** DB에서 참조하지 않는 이미지 파일 삭제 스케줄러
+ * 
+ * 1) scheduling() : 참조 해제 목록(IMAGE_DEREF) 처리
+ *    - 게시글 이미지 삭제/변경, 프로필 이미지 변경 시 기록된 파일만 삭제
+ *      -> 전체 파일/DB 비교 X, 처리 비용은 변경된 이미지 수에만 비례
+ *    - 삭제 직전 다시 참조되고 있는지 재확인
+ *      (내용 해시 파일명은 여러 행이 같은 파일을 참조할 수 있음)
+ *    - 최근(grace-period 이내)에 같은 내용이 다시 업로드된 파일은 기록을 남겨두고 다음 실행에서 재확인
+ * 
+ * 2) reconcile() : 전체 폴더와 DB 비교 (기록 이전 파일 정리용, 기본 비활성)
+ *    - DB 파일명은 HashSet 으로 한 번만 조회 (파일마다 List.indexOf X)
+ *    - 폴더는 DirectoryStream 으로 한 파일씩 순회 (전체 목록을 배열로 만들지 않음, 하위 폴더 포함)
+ *    - 최근 파일(마지막 실행 이후 또는 grace-period 이내에 수정된 파일)은 삭제하지 않음
+ *      -> DB 조회 이후 업로드된 파일이 삭제되지 않도록
+ * 
+ * - 공통 : 삭제 대상은 batch-size 개씩 삭제, 한 번 실행 시간은 time-budget 이내
+ *   -> 삭제 전 파일명을 "파일명.gc" 로 바꿔서 숨긴 후 DB 참조를 한 번 더 확인
+ *      (다시 참조되면 원래 이름으로 복구, 아니면 삭제)
+ *   -> 같은 내용 업로드는 커밋 후 파일이 없으면 다시 만들므로 (ContentHashStore.promote)
+ *      확인 ~ 삭제 사이에 커밋된 업로드도 파일이 사라지지 않음
+ *   -> 시간이 모자라면 중단하고 남은 파일은 다음 실행에서 처리
+ * - dry-run : 삭제하지 않고 삭제 대상만 기록
+ */
 @Slf4j
 @Component // Bean 등록
 @PropertySource("classpath:/config.properties")
 @RequiredArgsConstructor
 public class ImageDeleteScheduling {
 	
+	// 삭제 대상 중 로그로 남길 최대 파일명 수
+	private static final int REPORT_LIMIT = 100;
+	
+	// 삭제 직전 숨긴 파일 접미사
+	private static final String HIDDEN = ".gc";
+	
 	private final BoardService service;
+	
+	private final ImageRegistryService imageRegistryService;
 
 	// 회원 프로필 이미지 파일 저장 경로
 	@Value("${my.profile.folder-path}")
@@ -29,6 +72,32 @@ public class ImageDeleteScheduling {
 	@Value("${my.board.folder-path}")
 	private String boardFolderPath; //   C:/uploadFiles/board/
 	
+	// 요청 경로 (삭제 직전 참조 확인 시 프로필 이미지 경로 비교용)
+	@Value("${my.profile.web-path}")
+	private String profileWebPath; //   /myPage/profile/
+	
+	@Value("${my.board.web-path}")
+	private String boardWebPath; //   /images/board/
+	
+	// 이 시간(ms) 이내에 수정된 파일은 삭제하지 않음
+	@Value("${my.image-gc.grace-period:3600000}")
+	private long gracePeriod;
+	
+	// 한 번 실행 시 최대 수행 시간(ms)
+	@Value("${my.image-gc.time-budget:60000}")
+	private long timeBudget;
+	
+	// 한 번에 삭제할 파일 수
+	@Value("${my.image-gc.batch-size:500}")
+	private int batchSize;
+	
+	// true : 삭제하지 않고 삭제 대상만 기록
+	@Value("${my.image-gc.dry-run:false}")
+	private boolean dryRun;
+	
+	// 전체 비교 마지막 실행 시작 시간 (서버 시작 후 첫 실행 전에는 0)
+	private long lastReconcileStartedAt;
+	
 	
 	// cron = "초 분 시 일 월 요일 [년도]" - 요일 : 1(SUN) ~ 7(SAT)
 	
@@ -39,62 +108,315 @@ public class ImageDeleteScheduling {
 	// @Scheduled(cron = "0 0 12 * * *") // 정오
 	// @Scheduled(cron = "0 0 0 1 * *") // 매달 1일
 	
-	@Scheduled(cron = "0 0 0 1 * *")
+	@Scheduled(cron = "${my.image-gc.cron:0 0 * * * *}")
 	public void scheduling() {
 		log.info("스케줄러 동작!");
 		
-		// DB, 서버 파일 목록 비교 후 
-		// DB에 없는 서버 이미지 파일 삭제 동작
+		long startedAt = System.currentTimeMillis();
 		
-		// 1. 서버 파일 목록 조회하기
-		File boardFolder = new File(boardFolderPath);
-		File memberFolder = new File(profileFolderPath); 
+		GcReport report = new GcReport(startedAt + timeBudget);
 		
-		// 참조하는 폴더에 존재하는 파일 목록 얻어오기
-		File[] boardArr = boardFolder.listFiles();
-		File[] memberArr = memberFolder.listFiles();
+		while(System.currentTimeMillis() <= report.deadline) {
+			
+			// 1. 참조 해제 후 grace-period 가 지난 이미지 batch-size 개 조회
+			List<ImageDeref> derefList = imageRegistryService.selectDerefList(batchSize, gracePeriod);
+			
+			if(derefList.isEmpty()) break;
+			
+			// 2. 그 사이 다시 참조된 파일은 삭제하지 않음
+			Set<String> referencedSet = imageRegistryService.selectReferencedSet(derefList);
+			
+			// 처리가 끝나서 기록을 삭제할 목록
+			List<ImageDeref> doneList = new ArrayList<>();
+			
+			for(ImageDeref deref : derefList) {
+				
+				report.scanned++;
+				
+				if(referencedSet.contains(deref.getImgRename())) {
+					doneList.add(deref);
+					continue;
+				}
+				
+				String folderPath = deref.getImgType().equals("PROFILE") ? profileFolderPath : boardFolderPath;
+				Path path = ContentHashStore.resolve(folderPath, deref.getImgRename());
+				
+				// 최근에 같은 내용이 다시 업로드된 파일 (아직 커밋 전일 수 있음)
+				// -> 기록을 남겨두고 grace-period 이후 다시 참조 확인
+				if(isRecent(path, startedAt - gracePeriod)) {
+					report.recent++;
+					continue;
+				}
+				
+				doneList.add(deref);
+				
+				report.candidates++;
+				if(report.sample.size() < REPORT_LIMIT) report.sample.add(deref.getImgRename());
+				
+				report.batch.add(new Candidate(path, deref));
+			}
+			
+			deleteBatch(report);
+			
+			// dry-run 은 기록을 지우지 않으므로 같은 목록이 반복 조회됨 -> 1회만 수행
+			if(dryRun) break;
+			
+			// 3. 처리한 기록 삭제
+			if(!doneList.isEmpty()) imageRegistryService.deleteDerefList(doneList);
+			
+			// 모두 최근 파일이면 같은 목록이 반복 조회됨 -> 다음 실행에서 처리
+			if(doneList.size() < derefList.size()) break;
+		}
+		
+		report.timeOver = System.currentTimeMillis() > report.deadline;
+		
+		log.info("{}참조 해제 이미지 정리 {} : 확인 {}개, 최근 파일 보류 {}개, 삭제 대상 {}개, 삭제 {}개, {}ms",
+				dryRun ? "[dry-run] " : "",
+				report.timeOver ? "중단(시간 초과, 다음 실행에서 계속)" : "완료",
+				report.scanned, report.recent, report.candidates, report.deleted,
+				System.currentTimeMillis() - startedAt);
+		
+		if(dryRun && !report.sample.isEmpty()) {
+			log.info("[dry-run] 삭제 대상 (최대 {}개) : {}", REPORT_LIMIT, report.sample);
+		}
+	}
+	
+	
+	// 전체 폴더와 DB 비교 (기본 "-" : 실행하지 않음)
+	@Scheduled(cron = "${my.image-gc.reconcile-cron:-}")
+	public void reconcile() {
+		log.info("이미지 전체 비교 동작!");
 		
-		// 두 배열을 하나로 합침
-		// imageArr 라는 빈 배열을 boardArr와 memberArr 길이 만큼의 크기로 만든다
-		File[] imageArr = new File[boardArr.length + memberArr.length];
+		long startedAt = System.currentTimeMillis();
 		
-		// 배열 내용 복사 (깊은 복사)
-		// System.arraycopy(복사할배열, 몇번인덱스부터복사할지, 
-		//					새로운배열, 새로운배열의몇번부터넣을지인덱스, 복사를어디까지할건지) 
-		System.arraycopy(memberArr, 0, imageArr, 0, memberArr.length);
-		System.arraycopy(boardArr, 0, imageArr, memberArr.length, boardArr.length);
+		// 이 시간 이후 수정된 파일은 삭제하지 않음
+		// (마지막 실행 시작 시간, 현재 - grace-period 중 이른 시간)
+		long cutoff = startedAt - gracePeriod;
+		if(lastReconcileStartedAt > 0) cutoff = Math.min(cutoff, lastReconcileStartedAt);
 		
-		// 배열 -> List 변환 (다루기 쉽도록)
-		List<File> serverImageList = Arrays.asList(imageArr);
+		lastReconcileStartedAt = startedAt;
 		
-		// 2. DB 이미지 파일 이름만 모두 조회
-		List<String> dbImageList = service.selectDbImageList();
+		// 1. DB 이미지 파일명 집합 조회 (폴더 순회 전에 조회)
+		Set<String> dbImageSet = service.selectDbImageSet();
 		
-		// 3. 서버, DB 이미지 파일명을 비교하여
-		// 서버에만 있고, DB에 없는 파일을 서버에서 삭제
+		GcReport report = new GcReport(startedAt + timeBudget);
 		
-		if(!serverImageList.isEmpty()) { // 서버에 이미지가 있을 경우
+		// 2. 폴더별로 DB에 없는 파일 삭제
+		for(String imgType : List.of("BOARD", "PROFILE")) {
+			
+			if(report.timeOver) break;
+			
+			String folderPath = imgType.equals("PROFILE") ? profileFolderPath : boardFolderPath;
 			
-			for(File serverImage : serverImageList) {
+			try {
+				collect(Paths.get(folderPath), imgType, dbImageSet, cutoff, report);
+			} catch (IOException e) {
+				log.error("이미지 폴더 순회 실패 : {}", folderPath, e);
+			}
+		}
+		
+		// 남은 삭제 대상
+		deleteBatch(report);
+		
+		log.info("{}이미지 전체 비교 {} : 검사 {}개, 최근 파일 제외 {}개, 삭제 대상 {}개({} bytes), 삭제 {}개, {}ms",
+				dryRun ? "[dry-run] " : "",
+				report.timeOver ? "중단(시간 초과, 다음 실행에서 계속)" : "완료",
+				report.scanned, report.recent, report.candidates, report.candidateBytes,
+				report.deleted, System.currentTimeMillis() - startedAt);
+		
+		if(dryRun && !report.sample.isEmpty()) {
+			log.info("[dry-run] 삭제 대상 (최대 {}개) : {}", REPORT_LIMIT, report.sample);
+		}
+	}
+	
+	
+	/** 파일 수정 시간이 cutoff 이후인지 확인 (파일이 없으면 false) */
+	private boolean isRecent(Path path, long cutoff) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis() > cutoff;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+	
+	
+	/** 폴더를 한 파일씩 순회하며 삭제 대상 수집 (batch-size 개가 모이면 삭제)
+	 *  (내용 해시 파일이 나뉘어 저장된 하위 폴더도 순회) */
+	private void collect(Path folder, String imgType, Set<String> dbImageSet, long cutoff, GcReport report) throws IOException {
+		
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+			
+			for(Path path : stream) {
 				
-				// File.getName() : 서버 파일 이름
+				if(System.currentTimeMillis() > report.deadline) {
+					report.timeOver = true;
+					return;
+				}
 				
-				// List.indexOf(객체) :
-				// List에 객체가 존재하면 존재하는 index 반환
-				// 존재하지 않으면 -1 반환하는 메서드
-				if(dbImageList.indexOf( serverImage.getName() ) == -1) {
-					log.info(serverImage.getName() + " 삭제");
-					serverImage.delete(); // 파일 삭제
+				BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+				
+				// 하위 폴더 (해시 2자리/2자리)
+				if(attrs.isDirectory()) {
+					collect(path, imgType, dbImageSet, cutoff, report);
+					if(report.timeOver) return;
+					continue;
+				}
+				
+				// 일반 파일이 아닌 경우 제외
+				if(!attrs.isRegularFile()) continue;
+				
+				report.scanned++;
+				
+				String fileName = path.getFileName().toString();
+				
+				// 삭제 도중 중단되어 숨겨진 채로 남은 파일 -> DB에 있으면 복구
+				if(fileName.endsWith(HIDDEN) 
+					&& dbImageSet.contains(fileName.substring(0, fileName.length() - HIDDEN.length()))) {
+					
+					restore(path, path.resolveSibling(fileName.substring(0, fileName.length() - HIDDEN.length())));
+					continue;
+				}
+				
+				// DB에 있는 파일
+				if(dbImageSet.contains(fileName)) continue;
+				
+				// 최근에 수정된 파일
+				if(attrs.lastModifiedTime().toMillis() > cutoff) {
+					report.recent++;
+					continue;
 				}
 				
+				report.candidates++;
+				report.candidateBytes += attrs.size();
+				
+				if(report.sample.size() < REPORT_LIMIT) report.sample.add(path.getFileName().toString());
+				
+				String webPath = (imgType.equals("PROFILE") ? profileWebPath : boardWebPath) + ContentHashStore.shardDir(fileName);
+				
+				report.batch.add(new Candidate(path, 
+						ImageDeref.builder().imgType(imgType).imgPath(webPath).imgRename(fileName).build()));
+				
+				if(report.batch.size() >= batchSize) deleteBatch(report);
 			}
+		}
+	}
+	
+	
+	/** 모인 삭제 대상 파일 삭제 (dry-run 이면 삭제하지 않음)
+	 * 1) 파일명.gc 로 이름 변경 (이후 같은 내용 업로드는 파일을 새로 만듦)
+	 * 2) DB 참조 재확인 -> 다시 참조된 파일은 원래 이름으로 복구, 나머지 삭제
+	 */
+	private void deleteBatch(GcReport report) {
+		
+		if(dryRun || report.batch.isEmpty()) {
+			report.batch.clear();
+			return;
+		}
+		
+		List<Candidate> hiddenList = new ArrayList<>();
+		
+		for(Candidate candidate : report.batch) {
+			try {
+				Files.move(candidate.path, candidate.hidden(), StandardCopyOption.ATOMIC_MOVE);
+				hiddenList.add(candidate);
+				
+			} catch (IOException e) {
+				// 이미 없는 파일 등
+				log.debug("이미지 삭제 대상 제외 : {}", candidate.path, e);
+			}
+		}
+		
+		report.batch.clear();
+		
+		if(hiddenList.isEmpty()) return;
+		
+		Set<String> referencedSet;
+		
+		try {
+			referencedSet = imageRegistryService.selectReferencedSet(
+					hiddenList.stream().map(Candidate::ref).toList());
 			
+		} catch (RuntimeException e) {
+			// 확인할 수 없으면 모두 복구
+			log.error("이미지 참조 재확인 실패", e);
+			for(Candidate candidate : hiddenList) restore(candidate.hidden(), candidate.path);
+			return;
 		}
 		
+		for(Candidate candidate : hiddenList) {
+			
+			if(referencedSet.contains(candidate.ref.getImgRename())) {
+				restore(candidate.hidden(), candidate.path);
+				continue;
+			}
+			
+			try {
+				if(Files.deleteIfExists(candidate.hidden())) {
+					report.deleted++;
+					log.debug(candidate.path.getFileName() + " 삭제");
+				}
+			} catch (IOException e) {
+				log.warn("이미지 삭제 실패 : {}", candidate.path, e);
+			}
+		}
+	}
+	
+	
+	/** 숨긴 파일을 원래 이름으로 복구
+	 *  (그 사이 같은 내용이 다시 저장되어 파일이 있으면 숨긴 파일만 삭제) */
+	private void restore(Path hidden, Path path) {
+		try {
+			try {
+				Files.move(hidden, path, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(hidden, path);
+			}
+			
+		} catch (FileAlreadyExistsException e) {
+			try {
+				Files.deleteIfExists(hidden);
+			} catch (IOException ex) {
+				log.warn("숨긴 이미지 삭제 실패 : {}", hidden, ex);
+			}
+			
+		} catch (IOException e) {
+			log.error("이미지 복구 실패 : {}", hidden, e);
+		}
+	}
+	
+	
+	/** 삭제 대상 파일 + 참조 재확인 정보 */
+	private record Candidate(Path path, ImageDeref ref) {
 		
+		Path hidden() {
+			return path.resolveSibling(path.getFileName() + HIDDEN);
+		}
 	}
 	
 	
+	/** 1회 실행 결과 */
+	private static class GcReport {
+		
+		final long deadline;
+		
+		int scanned;
+		int recent;
+		int candidates;
+		long candidateBytes;
+		int deleted;
+		boolean timeOver;
+		
+		// 삭제 대기 중인 파일
+		final List<Candidate> batch = new ArrayList<>();
+		
+		// 로그로 남길 삭제 대상 파일명
+		final List<String> sample = new ArrayList<>();
+		
+		GcReport(long deadline) {
+			this.deadline = deadline;
+		}
+	}
+	
 }
 
 
@@ -0,0 +1,257 @@
+package edu.kh.project.common.util;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 내용 해시(SHA-256) 기반 업로드 파일 저장소
+ *
+ * - 업로드 스트림을 임시 파일에 저장하면서 동시에 SHA-256 계산 (파일을 다시 읽지 않음)
+ * - 저장 파일명 : 해시(16진수 64자리) + 확장자  ex) 9f86d081...b0f00a08.jpg
+ * - 저장 위치 : 폴더/해시 1~2자리/3~4자리/저장 파일명  ex) board/9f/86/9f86d081...b0f00a08.jpg
+ *   (한 폴더에 파일이 몰리지 않도록 분산)
+ * - 같은 내용의 파일은 하나만 저장 (이미 있으면 임시 파일 삭제 + 수정 시간 갱신)
+ *   -> 여러 행이 같은 파일을 참조하므로 파일 삭제 전 다른 참조 확인 필요 (ImageDeleteScheduling)
+ * - 이전 방식 파일명(20241112100105_xxx.jpg)은 폴더 바로 아래에 있는 것으로 처리
+ * - 임시 저장 폴더는 모든 업로드(게시글 이미지 포함)가 함께 사용 (newStagingFile)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentHashStore {
+
+	// 해시로 만든 저장 파일명
+	private static final Pattern HASH_NAME = Pattern.compile("[0-9a-f]{64}(\\.[0-9a-z]{1,10})?");
+
+	// 저장 파일명에 사용할 수 있는 확장자
+	private static final Pattern EXTENSION = Pattern.compile("\\.[0-9A-Za-z]{1,10}");
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	// 임시 파일 이름 생성 (중복 없음)
+	private final FileRenameGenerator fileRenameGenerator;
+
+	// 임시 저장 폴더 (저장 폴더와 같은 디스크여야 원자적 이동 가능)
+	@Value("${my.file.staging-path:C:/uploadFiles/staging/}")
+	private String stagingPath;
+
+	// 이 시간(ms)보다 오래된 임시 파일만 정리
+	// (폴더를 공유하는 다른 서버가 저장 중인 파일은 삭제하지 않음)
+	@Value("${my.file.staging-max-age:3600000}")
+	private long stagingMaxAge;
+
+
+	@PostConstruct
+	public void init() throws IOException {
+
+		Files.createDirectories(Paths.get(stagingPath));
+
+		// 이전 실행(또는 중단된 다른 서버)에서 이동/삭제되지 못하고 남은 임시 파일 정리
+		long before = System.currentTimeMillis() - stagingMaxAge;
+
+		int count = 0;
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(stagingPath), "*.tmp")) {
+			for (Path path : stream) {
+				try {
+					if (Files.getLastModifiedTime(path).toMillis() < before && Files.deleteIfExists(path)) count++;
+				} catch (NoSuchFileException e) {
+					// 다른 서버가 이미 이동/삭제
+				}
+			}
+		}
+
+		if (count > 0) log.info("오래된 업로드 임시 파일 {}개 삭제", count);
+	}
+
+
+	/** 새 임시 파일 경로 (생성하지 않음, 이름 중복 없음) */
+	public Path newStagingFile() {
+		return Paths.get(stagingPath, fileRenameGenerator.rename(null) + ".tmp");
+	}
+
+
+	/** 업로드 파일 저장
+	 * - 트랜잭션 안에서 호출 시 커밋 후 저장 위치로 이동, 롤백 시 임시 파일 삭제
+	 * - 트랜잭션 밖에서 호출 시 바로 이동
+	 * @param file : 업로드 파일
+	 * @param folderPath : 저장 폴더 (C:/uploadFiles/profile/)
+	 * @return 저장 파일명 (해시 + 확장자)
+	 * @throws IOException
+	 */
+	public String store(MultipartFile file, String folderPath) throws IOException {
+
+		Path temp = newStagingFile();
+
+		String fileName;
+
+		try {
+			fileName = write(file, temp);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			promote(temp, folderPath, fileName);
+			return fileName;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+			@Override
+			public void afterCompletion(int status) {
+				try {
+					if (status == STATUS_COMMITTED) promote(temp, folderPath, fileName);
+					else                            Files.deleteIfExists(temp);
+
+				} catch (IOException e) {
+					// 커밋 이후이므로 롤백 불가 -> 기록만 남김
+					log.error("업로드 파일 이동 실패 : {}", fileName, e);
+				}
+			}
+		});
+
+		return fileName;
+	}
+
+
+	/** 업로드 파일을 temp 에 저장하면서 SHA-256 계산
+	 * @return 저장 파일명 (해시 + 확장자)
+	 * @throws IOException
+	 */
+	public String write(MultipartFile file, Path temp) throws IOException {
+
+		MessageDigest digest = sha256();
+
+		try (ReadableByteChannel in = Channels.newChannel(new DigestInputStream(file.getInputStream(), digest));
+			 FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+					 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			long size = file.getSize();
+			long position = 0;
+
+			while (position < size) {
+				long count = out.transferFrom(in, position, size - position);
+
+				if (count <= 0) break; // 입력 끝
+
+				position += count;
+			}
+		}
+
+		return HEX.formatHex(digest.digest()) + extension(file.getOriginalFilename());
+	}
+
+
+	/** 임시 파일을 저장 위치로 이동 (커밋 후 호출)
+	 * - 같은 내용의 파일이 이미 있으면 임시 파일 삭제 + 기존 파일 수정 시간 갱신
+	 *   (수정 시간이 최근인 파일은 이미지 정리 스케줄러가 삭제하지 않음)
+	 * - 파일이 없으면(정리 스케줄러가 삭제 중 숨긴 경우 포함) 임시 파일로 새로 만듦
+	 *   -> 스케줄러는 숨긴 후 DB 참조를 다시 확인하므로, 이 업로드의 커밋은
+	 *      재확인에서 보이거나(복구) 이 이동으로 파일이 다시 만들어짐
+	 * @throws IOException
+	 */
+	public void promote(Path temp, String folderPath, String fileName) throws IOException {
+
+		Path target = resolve(folderPath, fileName);
+
+		try {
+			Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+			Files.deleteIfExists(temp);
+			return;
+
+		} catch (NoSuchFileException e) {
+			// 처음 저장되는 내용
+		}
+
+		Files.createDirectories(target.getParent());
+
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (AtomicMoveNotSupportedException e) {
+			// 다른 디스크인 경우 복사 후 삭제
+			try {
+				Files.move(temp, target);
+			} catch (FileAlreadyExistsException ex) {
+				Files.deleteIfExists(temp); // 동시에 같은 내용이 저장됨
+			}
+
+		} catch (FileAlreadyExistsException e) {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+
+	/** 저장 파일명 -> 실제 파일 경로
+	 * @param folderPath : C:/uploadFiles/board/
+	 * @param fileName : 9f86d081...b0f00a08.jpg
+	 * @return C:/uploadFiles/board/9f/86/9f86d081...b0f00a08.jpg
+	 */
+	public static Path resolve(String folderPath, String fileName) {
+		return Paths.get(folderPath, shardDir(fileName), fileName);
+	}
+
+
+	/** 저장 파일명의 하위 폴더 ("9f/86/", 이전 방식 파일명은 "")
+	 *  -> 요청 경로(webPath)에도 붙여서 사용 (/images/board/9f/86/) */
+	public static String shardDir(String fileName) {
+
+		if (!HASH_NAME.matcher(fileName).matches()) return "";
+
+		return fileName.substring(0, 2) + "/" + fileName.substring(2, 4) + "/";
+	}
+
+
+	/** 확장자 (".jpg", 소문자, 없거나 사용할 수 없는 문자가 있으면 "")
+	 *  -> 확장자 대소문자만 다른 같은 내용도 하나로 저장 */
+	private static String extension(String originalFileName) {
+
+		if (originalFileName == null) return "";
+
+		int index = originalFileName.lastIndexOf(".");
+
+		if (index == -1) return "";
+
+		String ext = originalFileName.substring(index);
+
+		return EXTENSION.matcher(ext).matches() ? ext.toLowerCase() : "";
+	}
+
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // 모든 JDK 에서 지원
+		}
+	}
+
+}
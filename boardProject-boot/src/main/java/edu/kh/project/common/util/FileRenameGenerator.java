@@ -0,0 +1,221 @@
+package edu.kh.project.common.util;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** 업로드 파일 변경명 생성기
+ *
+ * - 변경명 : 작성시간_ID.확장자  ex) 20241112100105_3hk2ab9x0q4g.jpg
+ * - ID : 시간 순으로 증가하는 64bit 번호 (Snowflake 방식)
+ *   [ 시간(ms) 41bit | 노드 번호 10bit | 같은 ms 내 순번 12bit ]
+ *   -> 한 서버 안에서는 AtomicLong CAS 로 잠금 없이 중복 X
+ *   -> 업로드 폴더를 공유하는 여러 서버는 노드 번호(my.file.node-id)가 달라 중복 X
+ *   -> 노드 번호를 설정하지 않으면 공유 임시 폴더의 node/번호.lock 파일을 잠가서(OS 파일 잠금) 번호 선점
+ *      (다른 서버가 잠근 번호는 건너뜀, 서버가 종료되면 OS 가 잠금 해제)
+ * - 날짜 형식은 스레드에 안전한 DateTimeFormatter 하나를 재사용
+ */
+@Slf4j
+@Component
+public class FileRenameGenerator {
+
+	// 시간 기준점 (2024-01-01T00:00:00Z) -> 41bit 로 약 69년 사용 가능
+	private static final long EPOCH = 1704067200000L;
+
+	private static final int NODE_BITS = 10;
+	private static final int SEQUENCE_BITS = 12;
+
+	public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1; // 1023
+
+	private static final DateTimeFormatter DATE_FORMAT =
+			DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneId.systemDefault());
+
+	private final long nodeId;
+
+	// 선점한 노드 번호 잠금 (노드 번호를 직접 설정한 경우 null)
+	private final FileLock nodeLock;
+
+	// 마지막으로 발급한 (시간 << SEQUENCE_BITS | 순번)
+	private final AtomicLong lastState = new AtomicLong();
+
+
+	/**
+	 * @param nodeId : 서버(인스턴스) 번호 0 ~ 1023
+	 */
+	public FileRenameGenerator(int nodeId) {
+		this(new NodeClaim(nodeId, null));
+	}
+
+
+	/**
+	 * @param nodeId : 서버(인스턴스) 번호 0 ~ 1023
+	 *                 (설정하지 않으면(-1) lockPath 폴더의 잠금 파일로 사용 중이지 않은 번호 선점)
+	 * @param lockPath : 업로드 폴더를 공유하는 서버들이 함께 사용하는 폴더 (공유 임시 폴더)
+	 */
+	@Autowired
+	public FileRenameGenerator(@Value("${my.file.node-id:-1}") int nodeId,
+			@Value("${my.file.staging-path:C:/uploadFiles/staging/}") String lockPath) throws IOException {
+
+		this(nodeId < 0 ? claimNodeId(Paths.get(lockPath, "node")) : new NodeClaim(nodeId, null));
+	}
+
+
+	private FileRenameGenerator(NodeClaim claim) {
+
+		if (claim.nodeId() < 0 || claim.nodeId() > MAX_NODE_ID) {
+			throw new IllegalArgumentException("my.file.node-id 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다 : " + claim.nodeId());
+		}
+
+		this.nodeId = claim.nodeId();
+		this.nodeLock = claim.lock();
+	}
+
+
+	// 서버 종료 시 선점한 노드 번호 반납
+	@PreDestroy
+	public void releaseNodeId() throws IOException {
+		if (nodeLock != null) nodeLock.channel().close();
+	}
+
+
+	/** 원본 파일명으로 변경명 생성
+	 * @param originalFileName : 짱구.jpg
+	 * @return 20241112100105_3hk2ab9x0q4g.jpg
+	 */
+	public String rename(String originalFileName) {
+
+		long id = nextId();
+
+		// ID 에 담긴 시간으로 날짜 부분 생성 (ID 와 날짜가 항상 일치)
+		long millis = (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+
+		String date = DATE_FORMAT.format(Instant.ofEpochMilli(millis));
+
+		return date + "_" + Long.toString(id, 36) + extension(originalFileName);
+	}
+
+
+	/** 시간 순으로 증가하는 중복 없는 ID 발급 (잠금 없음) */
+	public long nextId() {
+
+		long prev;
+		long next;
+
+		do {
+			prev = lastState.get();
+
+			long now = System.currentTimeMillis() - EPOCH;
+
+			// 새로운 ms -> 순번 0 부터
+			// 같은 ms(또는 시계가 뒤로 간 경우) -> 이전 값 + 1
+			// (순번이 4096 을 넘으면 시간 자리로 올림 -> 다음 ms 를 미리 사용, 대기 X)
+			next = now > (prev >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : prev + 1;
+
+		} while (!lastState.compareAndSet(prev, next));
+
+		long time = next >>> SEQUENCE_BITS;
+		long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+
+		return (time << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+	}
+
+
+	/** 확장자 (".jpg", 없으면 "") */
+	private String extension(String originalFileName) {
+
+		if (originalFileName == null) return "";
+
+		int index = originalFileName.lastIndexOf(".");
+
+		return index == -1 ? "" : originalFileName.substring(index);
+	}
+
+
+	/** 사용 중이지 않은 노드 번호 선점
+	 * - 호스트명 + 프로세스 번호로 계산한 번호부터 차례대로 번호.lock 파일 잠금 시도
+	 * - 잠금은 파일을 닫거나 프로세스가 종료될 때까지 유지
+	 *   -> 비정상 종료 후에도 남은 잠금 파일 때문에 번호가 막히지 않음
+	 */
+	private static NodeClaim claimNodeId(Path lockDir) throws IOException {
+
+		Files.createDirectories(lockDir);
+
+		String owner = ownerName();
+		int start = (owner.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+
+		for (int i = 0; i <= MAX_NODE_ID; i++) {
+
+			int nodeId = (start + i) % (MAX_NODE_ID + 1);
+
+			FileChannel channel = FileChannel.open(lockDir.resolve(nodeId + ".lock"),
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+			FileLock lock = null;
+
+			try {
+				lock = channel.tryLock();
+			} catch (OverlappingFileLockException e) {
+				// 같은 JVM 에서 이미 잠근 번호
+			}
+
+			if (lock == null) {
+				channel.close();
+				continue;
+			}
+
+			// 어느 서버가 사용 중인지 기록 (확인용)
+			try {
+				channel.truncate(0);
+				channel.write(ByteBuffer.wrap(owner.getBytes(StandardCharsets.UTF_8)));
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+
+			log.info("파일 변경명 노드 번호 미설정 -> {} 선점 ({})", nodeId, lockDir);
+
+			return new NodeClaim(nodeId, lock);
+		}
+
+		throw new IllegalStateException("사용 가능한 파일 변경명 노드 번호 없음 : " + lockDir);
+	}
+
+
+	/** 호스트명 + 프로세스 번호 */
+	private static String ownerName() {
+
+		String host;
+
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (Exception e) {
+			host = "localhost";
+		}
+
+		return host + "/" + ProcessHandle.current().pid();
+	}
+
+
+	/** 노드 번호 + 선점한 잠금 */
+	private record NodeClaim(int nodeId, FileLock lock) {}
+
+}
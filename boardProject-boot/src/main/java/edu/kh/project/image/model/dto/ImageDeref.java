@@ -0,0 +1,33 @@
+package edu.kh.project.image.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/** 참조 해제된 이미지 (IMAGE_DEREF 1행)
+ *  - 게시글 이미지 삭제/변경, 프로필 이미지 변경 시 기존 파일 기록
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class ImageDeref {
+
+	private int derefNo;
+	
+	// 이미지 종류 (BOARD / PROFILE)
+	private String imgType;
+	
+	// 이미지 접근 경로 (/images/board/, /myPage/profile/)
+	private String imgPath;
+	
+	// 파일명
+	private String imgRename;
+	
+	private String derefDate;
+}
@@ -0,0 +1,43 @@
+package edu.kh.project.image.model.mapper;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import edu.kh.project.image.model.dto.ImageDeref;
+
+@Mapper
+public interface ImageRegistryMapper {
+
+	/** 삭제/변경될 게시글 이미지 참조 해제 기록
+	 * @param map : boardNo, orderList(IMG_ORDER 목록)
+	 * @return 기록된 행의 개수
+	 */
+	int insertBoardImageDeref(Map<String, Object> map);
+
+	/** 변경될 프로필 이미지 참조 해제 기록
+	 * @param memberNo
+	 * @return 기록된 행의 개수 (기존 프로필 이미지가 없으면 0)
+	 */
+	int insertProfileDeref(int memberNo);
+
+	/** 참조 해제 후 일정 시간이 지난 이미지 조회 (오래된 순)
+	 * @param map : size, graceSeconds
+	 * @return derefList
+	 */
+	List<ImageDeref> selectDerefList(Map<String, Object> map);
+
+	/** 목록 중 다시 참조되고 있는 파일명 조회
+	 * @param derefList
+	 * @return 참조 중인 파일명 목록
+	 */
+	List<String> selectReferencedList(List<ImageDeref> derefList);
+
+	/** 처리된 참조 해제 기록 삭제
+	 * @param derefList
+	 * @return result
+	 */
+	int deleteDerefList(List<ImageDeref> derefList);
+
+}
@@ -0,0 +1,42 @@
+package edu.kh.project.image.model.service;
+
+import java.util.List;
+import java.util.Set;
+
+import edu.kh.project.image.model.dto.ImageDeref;
+
+public interface ImageRegistryService {
+
+	/** 삭제/변경될 게시글 이미지 참조 해제 기록 (DELETE/UPDATE 전에 호출)
+	 * @param boardNo
+	 * @param orderList : IMG_ORDER 목록
+	 * @return 기록된 행의 개수
+	 */
+	int dereferenceBoardImages(int boardNo, List<Integer> orderList);
+
+	/** 변경될 프로필 이미지 참조 해제 기록 (UPDATE 전에 호출)
+	 * @param memberNo
+	 * @return 기록된 행의 개수
+	 */
+	int dereferenceProfile(int memberNo);
+
+	/** 참조 해제 후 gracePeriod 가 지난 이미지 조회
+	 * @param size : 최대 조회 수
+	 * @param gracePeriod : 참조 해제 후 보관 시간(ms)
+	 * @return derefList
+	 */
+	List<ImageDeref> selectDerefList(int size, long gracePeriod);
+
+	/** 목록 중 다시 참조되고 있는 파일명 조회 (삭제 직전 재확인)
+	 * @param derefList
+	 * @return referencedSet
+	 */
+	Set<String> selectReferencedSet(List<ImageDeref> derefList);
+
+	/** 처리된 참조 해제 기록 삭제
+	 * @param derefList
+	 * @return result
+	 */
+	int deleteDerefList(List<ImageDeref> derefList);
+
+}
@@ -0,0 +1,64 @@
+package edu.kh.project.image.model.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.kh.project.image.model.dto.ImageDeref;
+import edu.kh.project.image.model.mapper.ImageRegistryMapper;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional(rollbackFor = Exception.class)
+@RequiredArgsConstructor
+public class ImageRegistryServiceImpl implements ImageRegistryService {
+
+	private final ImageRegistryMapper mapper;
+
+	// 게시글 이미지 참조 해제 기록
+	// -> 호출한 서비스의 트랜잭션에 참여 (이미지 삭제/변경이 롤백되면 기록도 롤백)
+	@Override
+	public int dereferenceBoardImages(int boardNo, List<Integer> orderList) {
+
+		Map<String, Object> map = new HashMap<>();
+		map.put("boardNo", boardNo);
+		map.put("orderList", orderList);
+
+		return mapper.insertBoardImageDeref(map);
+	}
+
+	// 프로필 이미지 참조 해제 기록
+	@Override
+	public int dereferenceProfile(int memberNo) {
+		return mapper.insertProfileDeref(memberNo);
+	}
+
+	// 참조 해제 후 gracePeriod 가 지난 이미지 조회
+	@Override
+	public List<ImageDeref> selectDerefList(int size, long gracePeriod) {
+
+		Map<String, Object> map = new HashMap<>();
+		map.put("size", size);
+		map.put("graceSeconds", gracePeriod / 1000);
+
+		return mapper.selectDerefList(map);
+	}
+
+	// 다시 참조되고 있는 파일명 조회
+	@Override
+	public Set<String> selectReferencedSet(List<ImageDeref> derefList) {
+		return new HashSet<>(mapper.selectReferencedList(derefList));
+	}
+
+	// 처리된 참조 해제 기록 삭제
+	@Override
+	public int deleteDerefList(List<ImageDeref> derefList) {
+		return mapper.deleteDerefList(derefList);
+	}
+
+}
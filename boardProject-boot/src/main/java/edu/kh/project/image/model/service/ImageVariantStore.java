@@ -0,0 +1,427 @@
+package edu.kh.project.image.model.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/** 축소 이미지(variant) 생성 + 디스크 캐시
+ *
+ * - 원본 이미지를 요청한 너비(허용된 너비 중 가장 가까운 큰 값)로 축소해서 저장
+ *   (JPEG/PNG 만 변환, 순수 Java ImageIO 사용)
+ * - 큰 원본은 읽을 때부터 건너뛰며 읽어서(subsampling) 메모리 사용량 제한
+ *   -> 원본 픽셀 수가 max-pixels, 건너뛰어 읽은 픽셀 수가 max-decode-pixels 를 넘으면
+ *      변환하지 않고 원본 사용 (가로/세로 비율이 극단적인 이미지로 메모리 고갈 방지)
+ * - 같은 축소 이미지를 동시에 요청하면 한 번만 변환 (나머지 요청은 결과를 기다림)
+ *   + 동시에 변환하는 이미지 수 제한 (max-concurrent)
+ * - 캐시 폴더 전체 크기가 max-bytes 를 넘으면 오래 사용하지 않은 파일부터 삭제
+ * - 파일명(변경명)은 업로드마다 새로 만들어지므로 같은 이름의 축소 이미지는 내용이 바뀌지 않음
+ */
+@Slf4j
+@Component
+public class ImageVariantStore {
+
+	// 변환하는 확장자
+	private static final List<String> EXTENSIONS = List.of("jpg", "jpeg", "png");
+
+	// 축소 이미지 캐시 폴더
+	@Value("${my.board.image-variant.cache-path:C:/uploadFiles/variant/}")
+	private String cachePath;
+
+	// 캐시 폴더 최대 크기(byte)
+	@Value("${my.board.image-variant.cache-max-bytes:268435456}")
+	private long maxBytes;
+
+	// 허용하는 너비 (요청 너비는 이 중 가장 가까운 큰 값으로 맞춤)
+	@Value("${my.board.image-variant.widths:160,320,640,1024}")
+	private int[] widths;
+
+	// JPEG 품질 (0.0 ~ 1.0)
+	@Value("${my.board.image-variant.jpeg-quality:0.8}")
+	private float jpegQuality;
+
+	// 변환하는 원본의 최대 픽셀 수 (가로 x 세로)
+	@Value("${my.board.image-variant.max-pixels:100000000}")
+	private long maxPixels;
+
+	// 읽어들인(건너뛰며 읽은) 이미지의 최대 픽셀 수 (ARGB 4byte/픽셀)
+	@Value("${my.board.image-variant.max-decode-pixels:16777216}")
+	private long maxDecodePixels;
+
+	// 동시에 변환하는 최대 이미지 수, 변환 순서를 기다리는 최대 시간(ms)
+	@Value("${my.board.image-variant.max-concurrent:2}")
+	private int maxConcurrent;
+
+	@Value("${my.board.image-variant.wait-timeout:5000}")
+	private long waitTimeout;
+
+	private Semaphore permits;
+
+	// 변환 중인 캐시 파일명 -> 변환 결과
+	private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+	// 캐시 파일명 -> 크기 (접근 순서, 가장 오래 사용하지 않은 파일이 맨 앞)
+	private final Map<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long totalBytes;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+
+	@PostConstruct
+	public void init() throws IOException {
+
+		Arrays.sort(widths);
+
+		permits = new Semaphore(maxConcurrent);
+
+		Path folder = Paths.get(cachePath);
+		Files.createDirectories(folder);
+
+		// 이미 만들어진 캐시 파일 등록 (수정 시간 오래된 순 == 오래 사용하지 않은 순)
+		List<Path> files = new ArrayList<>();
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+			for (Path path : stream) {
+
+				// 생성 도중 중단된 임시 파일 정리
+				if (path.getFileName().toString().endsWith(".tmp")) {
+					Files.deleteIfExists(path);
+					continue;
+				}
+
+				if (Files.isRegularFile(path)) files.add(path);
+			}
+		}
+
+		files.sort(Comparator.comparingLong(path -> path.toFile().lastModified()));
+
+		synchronized (index) {
+			for (Path path : files) {
+				long size = path.toFile().length();
+				index.put(path.getFileName().toString(), size);
+				totalBytes += size;
+			}
+		}
+
+		evict();
+	}
+
+
+	/** 요청 너비를 허용된 너비로 맞춤
+	 * @param width : 요청 너비
+	 * @return 허용된 너비 중 width 이상인 가장 작은 값 (없으면 가장 큰 값)
+	 */
+	public int normalizeWidth(int width) {
+
+		for (int w : widths) {
+			if (w >= width) return w;
+		}
+
+		return widths[widths.length - 1];
+	}
+
+
+	/** 변환 가능한 이미지인지 확인 (확장자 기준) */
+	public boolean isSupported(String fileName) {
+		return EXTENSIONS.contains(extension(fileName));
+	}
+
+
+	/** 원본 이미지의 축소 이미지 조회 (없으면 생성)
+	 * @param original : 원본 파일 경로
+	 * @param width : 허용된 너비 (normalizeWidth 결과)
+	 * @return 축소 이미지 경로 (원본이 width 보다 작거나 읽을 수 없으면 원본 경로)
+	 * @throws IOException
+	 */
+	public Path getVariant(Path original, int width) throws IOException {
+
+		String name = width + "_" + original.getFileName();
+		Path variant = Paths.get(cachePath, name);
+
+		synchronized (index) {
+			if (index.get(name) != null && Files.exists(variant)) {
+				hits.increment();
+				return variant;
+			}
+		}
+
+		misses.increment();
+
+		// 같은 이미지를 이미 변환 중이면 그 결과를 기다림
+		CompletableFuture<Path> future = new CompletableFuture<>();
+		CompletableFuture<Path> running = inFlight.putIfAbsent(name, future);
+
+		if (running != null) return await(running);
+
+		try {
+			Path result = create(original, variant, name, width);
+			future.complete(result);
+			return result;
+
+		} catch (Throwable e) {
+			// 기다리는 요청이 멈춰있지 않도록 오류(OutOfMemoryError 등)도 전달
+			future.completeExceptionally(e);
+			throw e;
+
+		} finally {
+			inFlight.remove(name, future);
+		}
+	}
+
+
+	/** 축소 이미지 생성 (이름마다 한 스레드만 호출) */
+	private Path create(Path original, Path variant, String name, int width) throws IOException {
+
+		// 조회 후 등록 전에 다른 요청이 변환을 끝낸 경우
+		synchronized (index) {
+			if (index.get(name) != null && Files.exists(variant)) return variant;
+		}
+
+		// 동시 변환 수 제한 -> 기다려도 순서가 오지 않으면 원본 사용
+		try {
+			if (!permits.tryAcquire(waitTimeout, TimeUnit.MILLISECONDS)) {
+				log.warn("축소 이미지 변환 대기 시간 초과, 원본 사용 : {}", name);
+				return original;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("축소 이미지 변환 대기 중 중단");
+		}
+
+		try {
+			Path temp = Files.createTempFile(Paths.get(cachePath), name + ".", ".tmp");
+
+			try {
+				if (!resize(original, temp, width)) {
+					// 축소할 필요가 없거나 변환하지 않는 이미지 -> 원본 사용
+					return original;
+				}
+
+				try {
+					Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING);
+				}
+
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+
+		} finally {
+			permits.release();
+		}
+
+		long size = Files.size(variant);
+
+		synchronized (index) {
+			Long old = index.put(name, size);
+			if (old != null) totalBytes -= old;
+			totalBytes += size;
+		}
+
+		evict();
+
+		return variant;
+	}
+
+
+	/** 다른 요청이 변환 중인 결과 대기 */
+	private static Path await(CompletableFuture<Path> running) throws IOException {
+
+		try {
+			return running.get();
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("축소 이미지 변환 대기 중 중단");
+
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException ex) throw ex;
+			throw new IOException("축소 이미지 생성 실패", e.getCause());
+		}
+	}
+
+
+	/** 캐시 통계 (hit, miss, 파일 수, 전체 크기) */
+	public Map<String, Object> getStats() {
+
+		synchronized (index) {
+			return Map.of("hits", hits.sum(), "misses", misses.sum(),
+					"files", index.size(), "bytes", totalBytes, "maxBytes", maxBytes);
+		}
+	}
+
+
+	/** 원본을 width 너비로 축소해서 target 에 저장
+	 * @return 축소한 경우 true (원본 너비가 width 이하이거나 너무 큰 이미지이면 false)
+	 */
+	private boolean resize(Path original, Path target, int width) throws IOException {
+
+		String ext = extension(original.getFileName().toString());
+
+		BufferedImage source;
+
+		try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+
+			if (!readers.hasNext()) return false;
+
+			ImageReader reader = readers.next();
+
+			try {
+				reader.setInput(in, true, true);
+
+				int sourceWidth = reader.getWidth(0);
+				int sourceHeight = reader.getHeight(0);
+
+				if (sourceWidth <= width) return false;
+
+				if ((long) sourceWidth * sourceHeight > maxPixels) {
+					log.warn("축소 이미지 변환 제외 (원본 {}x{}) : {}", sourceWidth, sourceHeight, original.getFileName());
+					return false;
+				}
+
+				// 목표 크기의 2배 이상 큰 원본은 읽을 때 픽셀을 건너뛰어 메모리 절약
+				// (2배까지는 남겨서 축소 품질 유지)
+				long targetHeight = Math.max(1, (long) sourceHeight * width / sourceWidth);
+
+				int step = (int) Math.max(1, Math.min(sourceWidth / (width * 2L), sourceHeight / (targetHeight * 2)));
+
+				// 건너뛰어 읽어도 큰 이미지 (세로로 아주 긴 이미지 등) -> 변환하지 않음
+				long decodePixels = (long) ceilDiv(sourceWidth, step) * ceilDiv(sourceHeight, step);
+
+				if (decodePixels > maxDecodePixels) {
+					log.warn("축소 이미지 변환 제외 (원본 {}x{}) : {}", sourceWidth, sourceHeight, original.getFileName());
+					return false;
+				}
+
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(step, step, 0, 0);
+
+				source = reader.read(0, param);
+
+			} finally {
+				reader.dispose();
+			}
+		}
+
+		int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+		boolean png = ext.equals("png");
+
+		// JPEG 는 투명도가 없으므로 RGB 로 그림
+		BufferedImage resized = new BufferedImage(width, height,
+				png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+		Graphics2D g = resized.createGraphics();
+
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.drawImage(source, 0, 0, width, height, null);
+		} finally {
+			g.dispose();
+		}
+
+		if (png) {
+			ImageIO.write(resized, "png", target.toFile());
+			return true;
+		}
+
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(jpegQuality);
+
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(resized, null, null), param);
+
+		} finally {
+			writer.dispose();
+		}
+
+		return true;
+	}
+
+
+	/** 최대 크기를 넘으면 오래 사용하지 않은 캐시 파일부터 삭제 */
+	private void evict() {
+
+		List<String> removed = new ArrayList<>();
+
+		synchronized (index) {
+
+			Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+
+			while (totalBytes > maxBytes && it.hasNext()) {
+				Map.Entry<String, Long> entry = it.next();
+				totalBytes -= entry.getValue();
+				removed.add(entry.getKey());
+				it.remove();
+			}
+		}
+
+		for (String name : removed) {
+			try {
+				Files.deleteIfExists(Paths.get(cachePath, name));
+			} catch (IOException e) {
+				log.warn("축소 이미지 캐시 삭제 실패 : {}", name, e);
+			}
+		}
+	}
+
+
+	private static int ceilDiv(int x, int y) {
+		return (x + y - 1) / y;
+	}
+
+
+	/** 확장자 (소문자, 점 제외) */
+	private static String extension(String fileName) {
+		int index = fileName.lastIndexOf(".");
+		return index == -1 ? "" : fileName.substring(index + 1).toLowerCase();
+	}
+
+}
@@ -0,0 +1,20 @@
+package edu.kh.project.member.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/** 회원 정보 변경 이벤트
+ * 
+ * - 닉네임/프로필 이미지를 수정하는 서비스에서 발행(ApplicationEventPublisher)
+ * - 게시글 캐시 등 회원 닉네임/프로필 이미지를 복사해두는 곳에서 받아서 삭제
+ *   (@TransactionalEventListener 이용 시 커밋된 후에만 전달됨)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MemberChangedEvent {
+
+	private int memberNo;
+	
+}
@@ -5,14 +5,17 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import edu.kh.project.common.util.Utility;
+import edu.kh.project.common.util.ContentHashStore;
+import edu.kh.project.image.model.service.ImageRegistryService;
 import edu.kh.project.member.model.dto.Member;
+import edu.kh.project.member.model.event.MemberChangedEvent;
 import edu.kh.project.myPage.model.dto.UploadFile;
 import edu.kh.project.myPage.model.mapper.MyPageMapper;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +33,15 @@ public class MyPageServiceImpl implements MyPageService{
 	// BCrypt 암호화 객체 의존성 주입(SecurityConfig 참고)
 	private final BCryptPasswordEncoder bcrypt;
 	
+	// 내용 해시 기반 파일 저장소 (같은 내용의 파일은 하나만 저장)
+	private final ContentHashStore contentHashStore;
+	
+	// 참조 해제된 이미지 기록
+	private final ImageRegistryService imageRegistryService;
+	
+	// 회원 정보 변경 이벤트 발행 (게시글 캐시 제거)
+	private final ApplicationEventPublisher publisher;
+	
 	@Value("${my.profile.web-path}")
 	private String profileWebPath; // /myPage/profile/
 	
@@ -57,8 +69,14 @@ public class MyPageServiceImpl implements MyPageService{
 			
 		}
 		
+		int result = mapper.updateInfo(inputMember);
+		
+		// 닉네임이 복사된 게시글 캐시를 커밋 후 제거
+		if(result > 0) {
+			publisher.publishEvent(new MemberChangedEvent(inputMember.getMemberNo()));
+		}
 		
-		return mapper.updateInfo(inputMember);
+		return result;
 	}
 	
 	// 비밀번호 변경 서비스
@@ -157,8 +175,8 @@ public class MyPageServiceImpl implements MyPageService{
 		 * 
 		 * 1) DB 에는 서버에 저장할 파일 경로를 저장
 		 * 
-		 * 2) DB 삽입/수정 성공 후 서버에 파일을 저장
-		 * 
+		 * 2) 파일은 임시 저장해두고 DB 삽입/수정이 커밋된 후 서버 폴더로 이동
+		 *
 		 * 3) 만약에 파일 저장 실패 시
 		 *   -> 예외 발생
 		 *   -> @Transactional 을 이용해서 rollback 수행
@@ -174,18 +192,22 @@ public class MyPageServiceImpl implements MyPageService{
 		String webPath = "/myPage/file/";
 		
 		
-		// 2. DB에 전달할 데이터를 DTO로 묶어서 INSERT 호출하기
-		// webPath, memberNo, 원본 파일명, 변경된 파일명
-		String fileRename = Utility.fileRename(uploadFile.getOriginalFilename());
+		// 2. 파일을 임시 저장하면서 내용 해시로 변경명 결정
+		// -> 커밋되면 C:/uploadFiles/test/해시2자리/2자리/변경명 으로 이동
+		//    (같은 내용의 파일이 이미 있으면 재사용), 롤백되면 임시 파일 삭제
+		String fileRename = contentHashStore.store(uploadFile, folderPath);
+		
+		//log.debug("fileRename : " + fileRename); // 9f86d081...b0f00a08.jfif
 		
-		//log.debug("fileRename : " + fileRename); // 20241112101842_00001.jfif
+		// 3. DB에 전달할 데이터를 DTO로 묶어서 INSERT 호출하기
+		// webPath(+ 하위 폴더), memberNo, 원본 파일명, 변경된 파일명
 		
 		// Builder 패턴을 이용해서 UploadFile 객체 생성
 		// 장점 1) 반복되는 참조변수명, set 구문 생략
 		// 장점 2) method chaining 을 이용하여 한 줄로 작성 가능
 		UploadFile uf = UploadFile.builder()
 						.memberNo(memberNo)
-						.filePath(webPath)
+						.filePath(webPath + ContentHashStore.shardDir(fileRename))
 						.fileOriginalName(uploadFile.getOriginalFilename())
 						.fileRename(fileRename)
 						.build();
@@ -198,20 +220,9 @@ public class MyPageServiceImpl implements MyPageService{
 		
 		int result = mapper.insertUploadFile(uf);
 		
-		// 3. 삽입 (INSERT) 성공 시 파일을 지정된 서버 폴더에 저장
-		
 		// 삽입 실패 시
 		if(result == 0) return 0;
 		
-		// 삽입 성공 시
-		
-		// C:/uploadFiles/test/변경된파일명 으로 
-		// 파일을 서버 컴퓨터에 저장!
-		uploadFile.transferTo(new File(folderPath + fileRename));
-					// C:/uploadFiles/test/20241112101842_00001.jfif
-		
-		
-		
 		return result; // 1
 	}
 	
@@ -279,11 +290,13 @@ public class MyPageServiceImpl implements MyPageService{
 		if( !profileImg.isEmpty() ) {
 			// updatePath 경로 조합
 			
-			// 1. 파일명 변경
-			rename = Utility.fileRename(profileImg.getOriginalFilename());
+			// 1. 파일을 임시 저장하면서 내용 해시로 파일명 결정
+			//    -> 커밋되면 프로필 폴더로 이동 (같은 내용의 파일이 이미 있으면 재사용)
+			//    -> 롤백되면 임시 파일 삭제
+			rename = contentHashStore.store(profileImg, profileFolderPath);
 			
-			// 2. /myPage/profile/변경된파일명
-			updatePath = profileWebPath + rename;
+			// 2. /myPage/profile/해시2자리/2자리/변경된파일명
+			updatePath = profileWebPath + ContentHashStore.shardDir(rename) + rename;
 		}
 		
 		// 수정된 프로필 이미지 경로 + 회원 번호를 저장할 DTO 객체
@@ -292,23 +305,20 @@ public class MyPageServiceImpl implements MyPageService{
 					.profileImg(updatePath)
 					.build();
 		
+		// 기존 프로필 이미지를 참조 해제 목록에 기록 (스케줄러가 파일 삭제)
+		imageRegistryService.dereferenceProfile(loginMember.getMemberNo());
+		
 		// UPDATE 수행
 		int result = mapper.profile(mem);
 		
 		if(result > 0) { // DB에 수정 성공
 			
-			// 프로필 이미지를 없앤 경우(NULL로 수정한 경우)를 제외
-			// -> 업로드한 이미지가 있을 경우
-			if( !profileImg.isEmpty() ) {
-				// 파일을 서버 지정된 폴더에 저장
-				profileImg.transferTo(new File(profileFolderPath + rename));
-							//  C:/uploadFiles/profile/변경한이름
-			}
-			
 			// 세션 회원 정보에서 프로필 이미지 경로를
 			// 업데이트한 경로로 변경
 			loginMember.setProfileImg(updatePath);
 			
+			// 기존 프로필 이미지 경로가 복사된 게시글 캐시를 커밋 후 제거
+			publisher.publishEvent(new MemberChangedEvent(loginMember.getMemberNo()));
 		}
 		
 		
@@ -1,23 +1,18 @@
 package edu.kh.project.websocket.handler;
 
-import java.text.SimpleDateFormat;
-import java.util.Collections;
-import java.util.Date;
-import java.util.HashSet;
-import java.util.Set;
-
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
 
 import edu.kh.project.chatting.model.dto.Message;
-import edu.kh.project.chatting.model.service.ChattingService;
-import edu.kh.project.member.model.dto.Member;
-import jakarta.servlet.http.HttpSession;
+import edu.kh.project.chatting.model.service.ChattingMessageWriter;
+import edu.kh.project.websocket.session.WebSocketDelivery;
+import edu.kh.project.websocket.session.WebSocketJsonCodec;
+import edu.kh.project.websocket.session.WebSocketSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,23 +21,41 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ChattingWebSocketHandler extends TextWebSocketHandler{
 
-	private final ChattingService service;
+	// 채팅 메세지 일괄 저장 (group commit)
+	private final ChattingMessageWriter writer;
+	
+	// 회원 번호별 웹소켓 세션 목록
+	private final WebSocketSessionRegistry registry;
+	
+	// 세션별 전송 대기열 (비동기 전송)
+	private final WebSocketDelivery delivery;
 	
-	private Set<WebSocketSession> sessions = Collections.synchronizedSet(new HashSet<>());
+	// 공용 JSON 변환 (ObjectMapper 재사용)
+	private final WebSocketJsonCodec codec;
 		
 	// 클라이언트와 연결이 완료되고, 통신할 준비가 되면 실행
 	@Override
 	public void afterConnectionEstablished(WebSocketSession session) throws Exception {
 		
-		sessions.add(session);
-		log.info("{} 연결됨", session.getId());
+		// 로그인 회원 번호로 세션 등록 (로그인하지 않은 경우 연결 종료)
+		Integer memberNo = registry.register(session);
+		
+		if(memberNo == null) {
+			session.close(CloseStatus.POLICY_VIOLATION);
+			return;
+		}
+		
+		delivery.open(session);
+		
+		log.info("{} 연결됨 (회원 번호 : {})", session.getId(), memberNo);
 	}
 	
 	// 클라이언트와 연결이 종료되면 실행
 	@Override
 	public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
 		
-		sessions.remove(session);
+		registry.unregister(session);
+		delivery.close(session);
 		log.info("{} 연결끊김", session.getId());
 	}
 	
@@ -53,43 +66,53 @@ public class ChattingWebSocketHandler extends TextWebSocketHandler{
 		// message - JS에서 클라이언트로부터 전달 받은 내용
 		// {"senderNo : "1", "targetNo" : "2" , "chattingRoomNo : "8" "messageContent" : "안녕!"}
 		
-		// Jackson에서 제공하는 객체
-		ObjectMapper objectMapper = new ObjectMapper();
-		
-		Message msg = objectMapper.readValue(message.getPayload(), Message.class);
+		// JSON -> Message (공용 ObjectMapper 의 ObjectReader 재사용)
+		Message msg = codec.decode(message, Message.class);
 		
 		// Message 객체 확인
 		log.info("msg : {}",msg);
 		
-		// DB 삽입 서비스 호출
-		int result = service.insertMessage(msg);
-		
-		if(result >0) {
-			
-			SimpleDateFormat sdf = new SimpleDateFormat("yyyy.MM.dd hh:mm");
-			msg.setSendTime(sdf.format(new Date()));
+		// DB 삽입 요청 (다른 메세지와 묶어서 저장, 기다리지 않고 반환)
+		// -> 저장(커밋)이 끝나면 받는 회원, 보낸 회원에게 전달
+		//    (보낸 회원에게 돌아가는 메세지 == 저장 완료 확인)
+		writer.write(msg).whenComplete((saved, e) -> {
 			
-			// 필드에 있는 sessions에는 접속중인 모든 회원의 세션 정보가 담겨있음
-			for(WebSocketSession s : sessions) {
-				
-				// 가로챈 session 꺼내기
-				HttpSession temp = (HttpSession) s.getAttributes().get("session");
-				
-				// 로그인된 회원 정보 중 회원 번호를 꺼내오기
-				int loginMemberNo = ((Member)temp.getAttribute("loginMember")).getMemberNo();
-				
-				// 로그인 상태인 회원 중 targetNo 또는 senderNo 일치하는 회원에게 메세지 전달
-				if(loginMemberNo == msg.getTargetNo() || loginMemberNo == msg.getSenderNo()) {
-					
-					// 다시 DTO(-> msg) 를 JSON으로 변환 (JS에 보내야하니까)
-					String jsongData = objectMapper.writeValueAsString(msg);
-					s.sendMessage(new TextMessage(jsongData));
-				}
-				
+			if(e != null) {
+				log.error("채팅 메세지 저장 실패 : {}", msg, e);
+				return;
 			}
 			
+			deliver(saved);
+		});
+		
+	}
+	
+	
+	/** 저장된 메세지를 받는 회원, 보낸 회원에게 전달 */
+	private void deliver(Message msg) {
+		
+		msg.setSendTime(codec.now());
+		
+		// 다시 DTO(-> msg) 를 JSON으로 변환 (JS에 보내야하니까)
+		// -> 한 번만 변환해서 모든 세션에 같은 TextMessage 전송
+		TextMessage jsonMessage;
+		
+		try {
+			jsonMessage = codec.encode(msg);
+		} catch (JsonProcessingException e) {
+			log.error("채팅 메세지 변환 실패 : {}", msg, e);
+			return;
 		}
 		
+		// 받는 회원, 보낸 회원의 세션(열린 탭 모두)에만 메세지 전달
+		// -> 접속 중인 전체 세션을 순회하지 않고 회원 번호로 바로 조회
+		// -> 세션별 대기열에 넣고 바로 반환 (느린 클라이언트가 다른 전달을 막지 않음)
+		delivery.send(registry.getSessions(msg.getTargetNo()), jsonMessage);
+		
+		// 자신에게 보낸 경우 중복 전달 X
+		if(msg.getSenderNo() != msg.getTargetNo()) {
+			delivery.send(registry.getSessions(msg.getSenderNo()), jsonMessage);
+		}
 	}
 	
 	
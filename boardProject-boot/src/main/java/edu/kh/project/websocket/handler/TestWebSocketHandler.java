@@ -10,6 +10,8 @@ import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import edu.kh.project.websocket.session.WebSocketDelivery;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /** oooWebSocketHandler 클래스
@@ -21,8 +23,12 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component // bean 등록
+@RequiredArgsConstructor
 public class TestWebSocketHandler extends TextWebSocketHandler {
 
+	// 세션별 전송 대기열 (비동기 전송)
+	private final WebSocketDelivery delivery;
+
 	// WebSocketSession :
 	// 클라이언트 - 서버 간 전이중 통신을 담당하는 객체
 	// SessionHandshakeInterCeptor가 가로챈
@@ -43,6 +49,8 @@ public class TestWebSocketHandler extends TextWebSocketHandler {
 		// -> 웹소켓에 연결된 클라이언트 정보를 모아둠
 		sessions.add(session);
 		
+		delivery.open(session);
+		
 	}
 	
 	@Override
@@ -51,6 +59,8 @@ public class TestWebSocketHandler extends TextWebSocketHandler {
 		//웹소켓 연결이 끊긴 클라이언트 정보를 Set에서 제거
 		sessions.remove(session);
 		
+		delivery.close(session);
+		
 	}
 	
 	@Override
@@ -64,8 +74,9 @@ public class TestWebSocketHandler extends TextWebSocketHandler {
 		
 		// 전달 받은 메세지를
 		// 현재 해당 웹소켓에 연결된 모든 클라이언트에게 보내기
-		for(WebSocketSession s : sessions) {
-			s.sendMessage(message);
+		// (세션별 대기열에 넣고 바로 반환 -> 느린 클라이언트를 기다리지 않음)
+		synchronized (sessions) { // synchronizedSet 순회 시 직접 동기화 필요
+			delivery.send(sessions, message);
 		}
 		
 	}
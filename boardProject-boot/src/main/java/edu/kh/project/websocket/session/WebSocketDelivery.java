@@ -0,0 +1,228 @@
+package edu.kh.project.websocket.session;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** 웹소켓 메세지 비동기 전송
+ *
+ * - 세션마다 크기가 제한된 전송 대기열 (메세지 수 + 전체 byte)
+ * - 메세지를 대기열에 넣고 바로 반환 -> 받은 메세지 처리 스레드가 전송을 기다리지 않음
+ * - 실제 전송은 세션마다 가상 스레드 1개가 대기열 순서대로 수행
+ *   -> 같은 세션에 동시 전송 X (순서 유지), 느린 클라이언트는 자기 대기열만 쌓임
+ * - 대기열이 가득 차면 overflow-policy 에 따라
+ *   DROP : 오래된 메세지부터 버림 / DISCONNECT : 연결 종료
+ * - 한 번의 전송이 send-time-limit 을 넘기면 응답 없는 클라이언트로 보고 연결 종료
+ *
+ * (Spring ConcurrentWebSocketSessionDecorator 와 같은 제한이지만,
+ *  전송 스레드를 분리하고 세션별 순서를 보장하기 위해 직접 구현)
+ */
+@Slf4j
+@Component
+public class WebSocketDelivery {
+
+	// WebSocketSession 속성에 저장하는 전송 대기열 key
+	private static final String OUTBOUND = "outbound";
+
+	public enum OverflowPolicy { DROP, DISCONNECT }
+
+	// 세션별 최대 대기 메세지 수
+	@Value("${my.websocket.send-queue-capacity:256}")
+	private int queueCapacity;
+
+	// 세션별 최대 대기 byte (메세지 길이 합)
+	@Value("${my.websocket.send-buffer-limit:524288}")
+	private int bufferLimit;
+
+	// 메세지 1개 전송 최대 시간(ms)
+	@Value("${my.websocket.send-time-limit:10000}")
+	private long sendTimeLimit;
+
+	// 대기열이 가득 찼을 때 처리
+	@Value("${my.websocket.overflow-policy:DISCONNECT}")
+	private OverflowPolicy overflowPolicy;
+
+	// 전송 스레드 (전송 중 대기하는 동안 OS 스레드를 점유하지 않음)
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder disconnected = new LongAdder();
+
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+
+	/** 연결된 세션의 전송 대기열 생성 (afterConnectionEstablished 에서 호출) */
+	public void open(WebSocketSession session) {
+		session.getAttributes().put(OUTBOUND, new Outbound(session));
+	}
+
+
+	/** 종료된 세션의 대기 메세지 삭제 (afterConnectionClosed 에서 호출) */
+	public void close(WebSocketSession session) {
+
+		if (session.getAttributes().remove(OUTBOUND) instanceof Outbound outbound) {
+			outbound.discard();
+		}
+	}
+
+
+	/** 메세지 전송 (대기열에 넣고 바로 반환) */
+	public void send(WebSocketSession session, TextMessage message) {
+
+		if (session.getAttributes().get(OUTBOUND) instanceof Outbound outbound) {
+			outbound.enqueue(message);
+		}
+	}
+
+
+	/** 여러 세션에 같은 메세지 전송 */
+	public void send(Collection<WebSocketSession> sessions, TextMessage message) {
+		for (WebSocketSession session : sessions) send(session, message);
+	}
+
+
+	/** 버려진 메세지 수, 대기열 초과/응답 없음으로 종료한 연결 수 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	public long getDisconnectedCount() {
+		return disconnected.sum();
+	}
+
+
+	/** 세션 1개의 전송 대기열 (이 객체로 동기화) */
+	private class Outbound {
+
+		private final WebSocketSession session;
+
+		private final ArrayDeque<TextMessage> queue = new ArrayDeque<>();
+
+		// 대기 중인 메세지 길이 합
+		private int bytes;
+
+		// 전송 스레드 실행 중 여부
+		private boolean draining;
+
+		// 현재 메세지 전송 시작 시간 (전송 중이 아니면 0)
+		private long sendStartedAt;
+
+		// 연결 종료됨 (이후 메세지 무시)
+		private boolean closed;
+
+		Outbound(WebSocketSession session) {
+			this.session = session;
+		}
+
+		synchronized void enqueue(TextMessage message) {
+
+			if (closed) return;
+
+			// 이전 메세지 전송이 너무 오래 걸리는 중 -> 응답 없는 클라이언트
+			if (sendStartedAt > 0 && System.currentTimeMillis() - sendStartedAt > sendTimeLimit) {
+				disconnect("전송 시간 초과");
+				return;
+			}
+
+			int length = message.getPayloadLength();
+
+			while (queue.size() >= queueCapacity || (bytes + length > bufferLimit && !queue.isEmpty())) {
+
+				if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+					disconnect("전송 대기열 초과");
+					return;
+				}
+
+				bytes -= queue.poll().getPayloadLength();
+				dropped.increment();
+			}
+
+			queue.add(message);
+			bytes += length;
+
+			if (!draining) {
+				draining = true;
+				executor.execute(this::drain);
+			}
+		}
+
+		/** 대기열이 빌 때까지 순서대로 전송 (가상 스레드) */
+		private void drain() {
+
+			while (true) {
+
+				TextMessage message;
+
+				synchronized (this) {
+					message = queue.poll();
+
+					if (message == null || closed) {
+						draining = false;
+						sendStartedAt = 0;
+						return;
+					}
+
+					bytes -= message.getPayloadLength();
+					sendStartedAt = System.currentTimeMillis();
+				}
+
+				try {
+					session.sendMessage(message);
+
+				} catch (IOException | IllegalStateException e) {
+					// 이미 닫혔거나 전송 실패한 연결
+					log.debug("{} 메세지 전송 실패", session.getId(), e);
+
+					synchronized (this) {
+						disconnect("전송 실패");
+					}
+				}
+			}
+		}
+
+		/** 대기 메세지 삭제 + 연결 종료 (동기화 상태에서 호출) */
+		private void disconnect(String reason) {
+
+			if (closed) return;
+
+			discard();
+			disconnected.increment();
+
+			log.warn("{} 웹소켓 연결 종료 : {}", session.getId(), reason);
+
+			// 종료 처리도 전송과 같은 이유로 블로킹될 수 있으므로 가상 스레드에서 수행
+			executor.execute(() -> {
+				try {
+					session.close(CloseStatus.SESSION_NOT_RELIABLE);
+				} catch (IOException e) {
+					log.debug("{} 연결 종료 실패", session.getId(), e);
+				}
+			});
+		}
+
+		synchronized void discard() {
+			closed = true;
+			queue.clear();
+			bytes = 0;
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package edu.kh.project.websocket.session;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/** 웹소켓 메세지 JSON 변환
+ *
+ * - 애플리케이션 공용 ObjectMapper 사용 (메세지마다 ObjectMapper 생성 X)
+ *   -> 타입별 ObjectReader 를 한 번 만들어 재사용 (역직렬화 정보 캐시)
+ * - encode : 한 번 변환한 TextMessage 를 모든 받는 세션에 그대로 전송
+ * - ObjectReader / ObjectWriter / DateTimeFormatter 는 불변 -> 여러 스레드에서 공유 가능
+ */
+@Component
+public class WebSocketJsonCodec {
+
+	// 채팅 메세지 보낸 시간 형식
+	private static final DateTimeFormatter SEND_TIME_FORMAT =
+			DateTimeFormatter.ofPattern("yyyy.MM.dd hh:mm");
+
+	private final ObjectMapper objectMapper;
+
+	private final ObjectWriter writer;
+
+	// 타입 -> ObjectReader
+	private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+
+	public WebSocketJsonCodec(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.writer = objectMapper.writer();
+	}
+
+
+	/** 받은 메세지(JSON) -> 객체 */
+	public <T> T decode(TextMessage message, Class<T> type) throws JsonProcessingException {
+		return readers.computeIfAbsent(type, objectMapper::readerFor).readValue(message.getPayload());
+	}
+
+
+	/** 객체 -> 보낼 메세지(JSON) */
+	public TextMessage encode(Object value) throws JsonProcessingException {
+		return new TextMessage(writer.writeValueAsString(value));
+	}
+
+
+	/** 현재 시간 (채팅 메세지 보낸 시간 형식) */
+	public String now() {
+		return LocalDateTime.now().format(SEND_TIME_FORMAT);
+	}
+
+}
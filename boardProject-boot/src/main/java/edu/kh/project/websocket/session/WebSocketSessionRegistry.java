@@ -0,0 +1,116 @@
+package edu.kh.project.websocket.session;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import edu.kh.project.member.model.dto.Member;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+
+/** 로그인 회원별 웹소켓 세션 목록
+ *
+ * - 회원 번호 -> 연결된 세션 집합 (탭/브라우저마다 세션 1개)
+ *   -> 특정 회원에게 보낼 때 전체 세션을 순회하지 않고 바로 조회
+ * - 핸들러의 afterConnectionEstablished / afterConnectionClosed 에서 등록/제거
+ * - 다른 핸들러, 서비스에서도 주입 받아 특정 회원에게 메세지 전달 가능
+ */
+@Slf4j
+@Component
+public class WebSocketSessionRegistry {
+
+	// WebSocketSession 속성에 저장하는 회원 번호 key
+	private static final String MEMBER_NO = "memberNo";
+
+	// 회원 번호 -> 연결된 세션 집합
+	private final Map<Integer, Set<WebSocketSession>> sessions = new ConcurrentHashMap<>();
+
+
+	/** 연결된 세션 등록
+	 * @param session : SessionHandshakeInterceptor 가 HttpSession 을 전달한 세션
+	 * @return 회원 번호 (로그인하지 않은 경우 null, 등록 X)
+	 */
+	public Integer register(WebSocketSession session) {
+
+		Integer memberNo = loginMemberNo(session);
+
+		if (memberNo == null) return null;
+
+		// 연결이 유지되는 동안 HttpSession 을 다시 조회하지 않도록 저장
+		session.getAttributes().put(MEMBER_NO, memberNo);
+
+		// 집합 생성/제거를 compute 안에서 수행 -> 빈 집합 제거와 추가가 겹쳐도 유실 X
+		sessions.compute(memberNo, (key, set) -> {
+			if (set == null) set = ConcurrentHashMap.newKeySet();
+			set.add(session);
+			return set;
+		});
+
+		return memberNo;
+	}
+
+
+	/** 종료된 세션 제거 (회원의 마지막 세션이면 회원도 제거) */
+	public void unregister(WebSocketSession session) {
+
+		Integer memberNo = getMemberNo(session);
+
+		if (memberNo == null) return;
+
+		sessions.computeIfPresent(memberNo, (key, set) -> {
+			set.remove(session);
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+
+	/** 회원의 연결된 세션 목록 (없으면 빈 집합)
+	 *  (순회 중 연결/종료가 있어도 예외 없이 순회 가능) */
+	public Set<WebSocketSession> getSessions(int memberNo) {
+
+		Set<WebSocketSession> set = sessions.get(memberNo);
+
+		return set == null ? Collections.emptySet() : Collections.unmodifiableSet(set);
+	}
+
+
+	/** 접속 중인 회원인지 확인 */
+	public boolean isOnline(int memberNo) {
+		return sessions.containsKey(memberNo);
+	}
+
+
+	/** 접속 중인 회원 수 */
+	public int getMemberCount() {
+		return sessions.size();
+	}
+
+
+	/** 등록된 세션의 회원 번호 (등록되지 않은 세션 null) */
+	public static Integer getMemberNo(WebSocketSession session) {
+		return (Integer) session.getAttributes().get(MEMBER_NO);
+	}
+
+
+	/** 가로챈 HttpSession 의 로그인 회원 번호 */
+	private static Integer loginMemberNo(WebSocketSession session) {
+
+		if (!(session.getAttributes().get("session") instanceof HttpSession httpSession)) return null;
+
+		try {
+			Member loginMember = (Member) httpSession.getAttribute("loginMember");
+
+			return loginMember == null ? null : loginMember.getMemberNo();
+
+		} catch (IllegalStateException e) {
+			// 이미 만료된 HttpSession
+			log.debug("만료된 세션의 웹소켓 연결 : {}", session.getId());
+			return null;
+		}
+	}
+
+}
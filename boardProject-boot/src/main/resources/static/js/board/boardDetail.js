@@ -40,13 +40,14 @@ document.querySelector("#boardLike").addEventListener("click", e => {
             return;
         }
 
-        // 5. likeCheck 값 0 <-> 1 변환
-        // -> 클릭 될 때 마다 INSERT/DELETE 동작을 번갈아 가면서 하게끔..
-        likeCheck = likeCheck == 0 ? 1 : 0;
+        // 5. likeCheck 값을 요청한 상태로 변경
+        // -> 응답 전에 여러 번 클릭해도 요청한 상태와 화면이 어긋나지 않게
+        //    (0 <-> 1 토글 대신 요청 시 보낸 값의 반대로 지정)
+        likeCheck = obj.likeCheck == 0 ? 1 : 0;
         
         // 6. 하트를 채웠다/비웠다 바꾸기
-        e.target.classList.toggle("fa-regular");
-        e.target.classList.toggle("fa-solid");
+        e.target.classList.toggle("fa-regular", likeCheck == 0);
+        e.target.classList.toggle("fa-solid", likeCheck == 1);
 
         // 7. 게시글 좋아요 수 수정
         e.target.nextElementSibling.innerText = count;
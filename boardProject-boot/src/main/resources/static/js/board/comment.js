@@ -18,150 +18,270 @@
 
 
 /* ***** 댓글 목록 조회(ajax) ***** */
-const selectCommentList = () => {
 
-  // [GET]
-  // fetch(주소?쿼리스트링) 
+// 댓글 목록 ul, 댓글 더보기 버튼
+const commentUl = document.querySelector("#commentList");
+const moreCommentBtn = document.querySelector("#moreComment");
 
-  // [POST, PUT, DELETE]
-  // fetch(주소, {method : "", header : {}, body : ""})
+/* 댓글 1행(li) 만들기 */
+const createCommentRow = comment => {
 
-  // response.json() 
-  // - 응답 받은 JSON 데이터 -> JS 객체로 변환
 
-  fetch("/comment?boardNo=" + boardNo) // GET 방식 요청
-  .then(response => response.json())
-  .then(commentList => {
-    console.log(commentList);
+    // 행(li) 생성 + 클래스 추가
+    const commentRow = document.createElement("li");
+    commentRow.classList.add("comment-row");
 
-    // 화면에 존재하는 기존 댓글 목록 삭제 후
-    // 조회된 commentList를 이용해서 새로운 댓글 목록 출력
+    // 답글 더보기에 사용할 계층 경로, 답글 수
+    commentRow.dataset.path = comment.commentPath;
+    commentRow.dataset.replyCount = comment.replyCount;
 
-    // ul태그(댓글 목록 감싸는 요소)
-    const ul = document.querySelector("#commentList");
-    ul.innerHTML = ""; // 기존 댓글 목록 삭제
+    // 대댓글(자식 댓글)인 경우 "child-comment" 클래스 추가
+    if(comment.parentCommentNo != 0) 
+      commentRow.classList.add("child-comment");
 
+    // 만약 삭제된 댓글이지만 자식 댓글이 존재하는 경우
+    if(comment.commentDelFl == 'Y') 
+      commentRow.innerText = "삭제된 댓글 입니다";
 
-    /* ******* 조회된 commentList를 이용해 댓글 출력 ******* */
-    for(let comment of commentList){
+    else{ // 삭제되지 않은 댓글
 
-      // 행(li) 생성 + 클래스 추가
-      const commentRow = document.createElement("li");
-      commentRow.classList.add("comment-row");
+      // 프로필 이미지, 닉네임, 날짜 감싸는 요소
+      const commentWriter = document.createElement("p");
+      commentWriter.classList.add("comment-writer");
 
-      // 대댓글(자식 댓글)인 경우 "child-comment" 클래스 추가
-      if(comment.parentCommentNo != 0) 
-        commentRow.classList.add("child-comment");
+      // 프로필 이미지
+      const profileImg = document.createElement("img");
 
-      // 만약 삭제된 댓글이지만 자식 댓글이 존재하는 경우
-      if(comment.commentDelFl == 'Y') 
-        commentRow.innerText = "삭제된 댓글 입니다";
+      if(comment.profileImg == null)  
+        profileImg.src = userDefaultIamge; // 기본 이미지
+      else                            
+        profileImg.src = comment.profileImg; // 회원 이미지
+
+      // 닉네임
+      const nickname = document.createElement("span");
+      nickname.innerText = comment.memberNickname;
+      
+      // 날짜(작성일)
+      const commentDate = document.createElement("span");
+      commentDate.classList.add("comment-date");
+      commentDate.innerText = comment.commentWriteDate;
+
+      // 작성자 영역(commentWriter)에 프로필, 닉네임, 날짜 추가
+      commentWriter.append(profileImg, nickname, commentDate);
+   
+      // 댓글 행에 작성자 영역 추가
+      commentRow.append(commentWriter);
+   
+
+
+      // ----------------------------------------------------
+
+
+      // 댓글 내용 
+      const content = document.createElement("p");
+      content.classList.add("comment-content");
+      content.innerText = comment.commentContent;
+
+      commentRow.append(content); // 행에 내용 추가
+   
 
-      else{ // 삭제되지 않은 댓글
+      // ----------------------------------------------------
 
-        // 프로필 이미지, 닉네임, 날짜 감싸는 요소
-        const commentWriter = document.createElement("p");
-        commentWriter.classList.add("comment-writer");
+      // 버튼 영역
+      const commentBtnArea = document.createElement("div");
+      commentBtnArea.classList.add("comment-btn-area");
 
-        // 프로필 이미지
-        const profileImg = document.createElement("img");
 
-        if(comment.profileImg == null)  
-          profileImg.src = userDefaultIamge; // 기본 이미지
-        else                            
-          profileImg.src = comment.profileImg; // 회원 이미지
+      // 답글 버튼
+      const childCommentBtn = document.createElement("button");
+      childCommentBtn.innerText = "답글";
 
-        // 닉네임
-        const nickname = document.createElement("span");
-        nickname.innerText = comment.memberNickname;
+      // 답글 버튼에 onclick 이벤트 리스너 추가 
+      childCommentBtn.setAttribute("onclick", 
+        `showInsertComment(${comment.commentNo}, this)`);     
         
-        // 날짜(작성일)
-        const commentDate = document.createElement("span");
-        commentDate.classList.add("comment-date");
-        commentDate.innerText = comment.commentWriteDate;
+      // 버튼 영역에 답글 추가
+      commentBtnArea.append(childCommentBtn);
 
-        // 작성자 영역(commentWriter)에 프로필, 닉네임, 날짜 추가
-        commentWriter.append(profileImg, nickname, commentDate);
-     
-        // 댓글 행에 작성자 영역 추가
-        commentRow.append(commentWriter);
-     
 
+      // 로그인한 회원 번호가 댓글 작성자 번호와 같을 때
+      // 댓글 수정/삭제 버튼 출력
 
-        // ----------------------------------------------------
+      if(loginMemberNo != null && loginMemberNo == comment.memberNo){
 
+        // 수정 버튼
+        const updateBtn = document.createElement("button");
+        updateBtn.innerText = "수정";
 
-        // 댓글 내용 
-        const content = document.createElement("p");
-        content.classList.add("comment-content");
-        content.innerText = comment.commentContent;
+        // 수정 버튼에 onclick 이벤트 리스너 추가 
+        updateBtn.setAttribute("onclick", 
+          `showUpdateComment(${comment.commentNo}, this)`); 
 
-        commentRow.append(content); // 행에 내용 추가
-     
 
-        // ----------------------------------------------------
+        // 삭제 버튼
+        const deleteBtn = document.createElement("button");
+        deleteBtn.innerText = "삭제";
 
-        // 버튼 영역
-        const commentBtnArea = document.createElement("div");
-        commentBtnArea.classList.add("comment-btn-area");
+        // 삭제 버튼에 onclick 이벤트 리스너 추가 
+        deleteBtn.setAttribute("onclick", 
+          `deleteComment(${comment.commentNo})`); 
 
 
-        // 답글 버튼
-        const childCommentBtn = document.createElement("button");
-        childCommentBtn.innerText = "답글";
+        // 버튼 영역에 수정, 삭제 버튼 추가
+        commentBtnArea.append(updateBtn, deleteBtn);
+      }
 
-        // 답글 버튼에 onclick 이벤트 리스너 추가 
-        childCommentBtn.setAttribute("onclick", 
-          `showInsertComment(${comment.commentNo}, this)`);     
-          
-        // 버튼 영역에 답글 추가
-        commentBtnArea.append(childCommentBtn);
+      // 행에 버튼 영역 추가
+      commentRow.append(commentBtnArea);
 
+    } // else 끝
 
-        // 로그인한 회원 번호가 댓글 작성자 번호와 같을 때
-        // 댓글 수정/삭제 버튼 출력
+    return commentRow;
+}
+
+
+/* 화면에 출력된 최상위 댓글 묶음 수 (경로 앞 10자리 == 최상위 댓글) */
+const getLoadedRootCount = () => {
+  const roots = new Set();
+
+  for(let row of commentUl.querySelectorAll(".comment-row")){
+    roots.add(row.dataset.path.substring(0, 10));
+  }
+
+  return roots.size;
+}
+
+
+/* 출력된 댓글 행(li)들 중 조회되지 않은 답글이 남은 묶음 끝에 "답글 더보기" 추가 */
+const addReplyMoreRows = rows => {
+
+  // 최상위 댓글별 마지막 행, 출력된 답글 수
+  const lastRows = new Map();
+  const shownReplies = new Map();
 
-        if(loginMemberNo != null && loginMemberNo == comment.memberNo){
+  for(let row of rows){
 
-          // 수정 버튼
-          const updateBtn = document.createElement("button");
-          updateBtn.innerText = "수정";
+    const root = row.dataset.path.substring(0, 10);
+    lastRows.set(root, row);
 
-          // 수정 버튼에 onclick 이벤트 리스너 추가 
-          updateBtn.setAttribute("onclick", 
-            `showUpdateComment(${comment.commentNo}, this)`); 
+    if(row.classList.contains("child-comment"))
+      shownReplies.set(root, (shownReplies.get(root) || 0) + 1);
+  }
 
+  for(let [root, lastRow] of lastRows){
 
-          // 삭제 버튼
-          const deleteBtn = document.createElement("button");
-          deleteBtn.innerText = "삭제";
+    if(lastRow.dataset.replyCount > (shownReplies.get(root) || 0))
+      lastRow.after(createReplyMoreRow(Number(root), lastRow.dataset.path));
+  }
+}
 
-          // 삭제 버튼에 onclick 이벤트 리스너 추가 
-          deleteBtn.setAttribute("onclick", 
-            `deleteComment(${comment.commentNo})`); 
 
+/* 조회된 댓글 페이지를 목록(ul) 끝에 출력 */
+const appendCommentPage = commentList => {
 
-          // 버튼 영역에 수정, 삭제 버튼 추가
-          commentBtnArea.append(updateBtn, deleteBtn);
-        }
+  const rows = commentList.map(createCommentRow);
+
+  commentUl.append(...rows);
+  addReplyMoreRows(rows);
+}
 
-        // 행에 버튼 영역 추가
-        commentRow.append(commentBtnArea);
 
-      } // else 끝
+/* "답글 더보기" 행 만들기 */
+const createReplyMoreRow = (rootNo, cursor) => {
 
-      // 댓글 목록(ul)에 행(li) 추가
-      ul.append(commentRow);
+  const moreRow = document.createElement("li");
+  moreRow.classList.add("comment-row", "child-comment", "reply-more");
 
-    } // for 끝
+  const moreBtn = document.createElement("button");
+  moreBtn.innerText = "답글 더보기";
+  moreBtn.addEventListener("click", () => selectReplyList(rootNo, cursor, moreRow));
 
-  });
+  moreRow.append(moreBtn);
 
+  return moreRow;
 }
 
 
+/* 답글 더보기(ajax) : cursor 이후 답글을 "답글 더보기" 행 앞에 출력 */
+const selectReplyList = (rootNo, cursor, moreRow) => {
+
+  fetch(`/comment/reply?boardNo=${boardNo}&rootNo=${rootNo}&cursor=${cursor}`)
+  .then(response => response.json())
+  .then(page => {
+
+    for(let comment of page.commentList){
+      moreRow.before(createCommentRow(comment));
+    }
+
+    // 남은 답글이 있으면 다음 기준으로 버튼 교체, 없으면 제거
+    if(page.cursor != null) moreRow.replaceWith(createReplyMoreRow(rootNo, page.cursor));
+    else                    moreRow.remove();
+  })
+  .catch(err => console.log(err));
+}
+
+
+/* 댓글 더보기 버튼 상태 변경 (cursor 가 없으면 숨김) */
+const setMoreCommentCursor = cursor => {
+
+  if(moreCommentBtn == null) return;
+
+  if(cursor == null){
+    moreCommentBtn.removeAttribute("data-cursor");
+    moreCommentBtn.style.display = "none";
+
+  } else {
+    moreCommentBtn.dataset.cursor = cursor;
+    moreCommentBtn.style.display = "";
+  }
+}
+
+
+/* 댓글 목록 다시 조회 (등록/수정/삭제 후)
+   - 지금까지 출력된 최상위 댓글 수만큼 처음부터 다시 조회 */
+const selectCommentList = () => {
+
+  // [GET]
+  // fetch(주소?쿼리스트링) 
+
+  // [POST, PUT, DELETE]
+  // fetch(주소, {method : "", header : {}, body : ""})
+
+  // response.json() 
+  // - 응답 받은 JSON 데이터 -> JS 객체로 변환
+
+  const size = Math.max(getLoadedRootCount(), 1);
+
+  fetch(`/comment?boardNo=${boardNo}&size=${size}`) // GET 방식 요청
+  .then(response => response.json())
+  .then(page => {
+
+    // 화면에 존재하는 기존 댓글 목록 삭제 후
+    // 조회된 commentList를 이용해서 새로운 댓글 목록 출력
+    commentUl.innerHTML = "";
+
+    appendCommentPage(page.commentList);
+    setMoreCommentCursor(page.cursor);
+  })
+  .catch(err => console.log(err));
+}
+
+
+/* 댓글 더보기(ajax) : 다음 페이지 최상위 댓글 묶음을 목록 끝에 출력 */
+moreCommentBtn?.addEventListener("click", () => {
+
+  fetch(`/comment?boardNo=${boardNo}&cursor=${moreCommentBtn.dataset.cursor}`)
+  .then(response => response.json())
+  .then(page => {
+    appendCommentPage(page.commentList);
+    setMoreCommentCursor(page.cursor);
+  })
+  .catch(err => console.log(err));
+});
+
 
-//selectCommentList();
+/* 첫 페이지(서버에서 출력된 목록)에 "답글 더보기" 추가 */
+addReplyMoreRows(commentUl.querySelectorAll(".comment-row"));
 
 // -----------------------------------------------------------------------
 
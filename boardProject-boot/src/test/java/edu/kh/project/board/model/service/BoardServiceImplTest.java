@@ -0,0 +1,141 @@
+package edu.kh.project.board.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.dto.Comment;
+import edu.kh.project.board.model.mapper.BoardMapper;
+import edu.kh.project.board.model.mapper.CommentMapper;
+
+/** 게시글 상세 조회 시 DB 조회(mapper 호출) 횟수 (DB 없이 mapper 대체) */
+class BoardServiceImplTest {
+
+	private BoardMapper boardMapper;
+	private CommentMapper commentMapper;
+
+	private BoardServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+
+		boardMapper = mock(BoardMapper.class);
+		commentMapper = mock(CommentMapper.class);
+
+		CommentServiceImpl commentService = new CommentServiceImpl(commentMapper, mock(ApplicationEventPublisher.class));
+		ReflectionTestUtils.setField(commentService, "rootPageSize", 20);
+		ReflectionTestUtils.setField(commentService, "replyPageSize", 3);
+
+		BoardDetailCache detailCache = new BoardDetailCache();
+		ReflectionTestUtils.setField(detailCache, "maxBytes", 64L * 1024 * 1024);
+		ReflectionTestUtils.setField(detailCache, "maxAge", 600_000L);
+
+		service = new BoardServiceImpl(boardMapper, mock(ReadCountBuffer.class), detailCache,
+				mock(BoardListCache.class), mock(ListCountCache.class), mock(BoardSearchIndex.class),
+				commentService, mock(BoardLikeEngine.class));
+
+		// 게시글 + 이미지 목록 (JOIN 1번)
+		when(boardMapper.selectOne(anyMap())).thenAnswer(inv -> Board.builder()
+				.boardNo(1).boardCode(1).boardTitle("제목").boardContent("내용")
+				.imageList(new ArrayList<>())
+				.build());
+
+		// 댓글 첫 페이지 : 댓글 묶음 2개 (답글 1개 포함)
+		when(commentMapper.selectRootPage(anyMap())).thenAnswer(inv -> new ArrayList<>(List.of(
+				comment(1, "0000000001"),
+				comment(2, "00000000010000000002"),
+				comment(3, "0000000003"))));
+
+		when(boardMapper.selectBoardOverlay(anyMap())).thenAnswer(inv -> Board.builder()
+				.readCount(10).likeCount(2)
+				.build());
+	}
+
+	@Test
+	void detailLoadTakesTwoRoundTrips() {
+
+		Board board = service.selectOne(param());
+
+		// 게시글(selectOne) 1번 + 댓글 첫 페이지(selectRootPage) 1번
+		assertEquals(2, mapperCalls());
+
+		assertEquals(3, board.getCommentList().size());
+		assertNull(board.getCommentCursor());
+	}
+
+	@Test
+	void cachedDetailTakesOneRoundTrip() {
+
+		service.selectOne(param());
+
+		int before = mapperCalls();
+
+		Board board = service.selectOne(param());
+
+		// 캐시된 게시글은 조회 수, 좋아요 수/여부(selectBoardOverlay)만 조회
+		assertEquals(1, mapperCalls() - before);
+
+		assertEquals(10, board.getReadCount());
+		assertEquals(3, board.getCommentList().size());
+	}
+
+	@Test
+	void nextCommentPageNeedsNoExtraQuery() {
+
+		// 댓글 묶음이 한 페이지(20개)보다 1개 많이 조회된 경우
+		List<Comment> commentList = new ArrayList<>();
+
+		for (int i = 1; i <= 21; i++) {
+			commentList.add(comment(i, String.format("%010d", i)));
+		}
+
+		when(commentMapper.selectRootPage(anyMap())).thenReturn(commentList);
+
+		Board board = service.selectOne(param());
+
+		// 다음 페이지 여부 확인용 묶음은 제외, 별도 조회 없음
+		assertEquals(2, mapperCalls());
+
+		assertEquals(20, board.getCommentList().size());
+		assertEquals("0000000020", board.getCommentCursor());
+	}
+
+	/** 두 mapper 의 전체 호출 수 */
+	private int mapperCalls() {
+		return mockingDetails(boardMapper).getInvocations().size()
+				+ mockingDetails(commentMapper).getInvocations().size();
+	}
+
+	private Map<String, Integer> param() {
+
+		Map<String, Integer> map = new HashMap<>();
+		map.put("boardCode", 1);
+		map.put("boardNo", 1);
+
+		return map;
+	}
+
+	private Comment comment(int commentNo, String commentPath) {
+		return Comment.builder()
+				.commentNo(commentNo)
+				.boardNo(1)
+				.commentContent("댓글")
+				.commentPath(commentPath)
+				.build();
+	}
+
+}
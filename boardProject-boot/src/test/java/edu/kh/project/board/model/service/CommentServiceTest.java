@@ -0,0 +1,89 @@
+package edu.kh.project.board.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.kh.project.board.model.dto.Board;
+import edu.kh.project.board.model.dto.Comment;
+import edu.kh.project.board.model.mapper.EditBoardMapper;
+
+/** 댓글 페이지 조회 (DB 필요, 테스트 후 rollback) */
+@SpringBootTest
+@Transactional
+class CommentServiceTest {
+
+	@Autowired
+	private CommentService service;
+
+	@Autowired
+	private EditBoardMapper editBoardMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void keepsLiveGrandchildOfDeletedRootAndChild() {
+
+		// 댓글이 없는 새 게시글에 작성
+		int memberNo = jdbcTemplate.queryForObject("SELECT MIN(MEMBER_NO) FROM MEMBER", Integer.class);
+		int boardCode = jdbcTemplate.queryForObject("SELECT MIN(BOARD_CODE) FROM BOARD_TYPE", Integer.class);
+
+		Board board = Board.builder()
+				.boardTitle("댓글 테스트")
+				.boardContent("댓글 테스트")
+				.boardCode(boardCode)
+				.memberNo(memberNo)
+				.build();
+
+		editBoardMapper.boardInsert(board);
+		editBoardMapper.insertBoardStats(board.getBoardNo());
+
+		int boardNo = board.getBoardNo();
+
+		// 최상위 댓글 -> 답글 -> 답글의 답글
+		Comment root = comment(boardNo, memberNo, 0);
+		service.insert(root);
+
+		Comment child = comment(boardNo, memberNo, root.getCommentNo());
+		service.insert(child);
+
+		Comment grandchild = comment(boardNo, memberNo, child.getCommentNo());
+		service.insert(grandchild);
+
+		// 최상위 댓글, 답글 삭제 -> 답글의 답글만 삭제되지 않음
+		service.delete(root.getCommentNo());
+		service.delete(child.getCommentNo());
+
+		List<Comment> commentList = (List<Comment>) service.selectPage(boardNo, null, 0).get("commentList");
+
+		// 삭제된 최상위 댓글(삭제되지 않은 바로 아래 답글 X)은 제외
+		// 삭제된 답글(삭제되지 않은 답글 O)과 답글의 답글은 조회
+		assertEquals(List.of(child.getCommentNo(), grandchild.getCommentNo()),
+				commentList.stream().map(Comment::getCommentNo).toList());
+
+		assertTrue(commentList.get(1).getCommentPath().startsWith(commentList.get(0).getCommentPath()));
+
+		// 다음 페이지 없음 (이 게시글의 최상위 댓글은 1개)
+		assertNull(service.selectPage(boardNo, null, 0).get("cursor"));
+	}
+
+	private Comment comment(int boardNo, int memberNo, int parentCommentNo) {
+		return Comment.builder()
+				.boardNo(boardNo)
+				.memberNo(memberNo)
+				.parentCommentNo(parentCommentNo)
+				.commentContent("댓글")
+				.build();
+	}
+
+}
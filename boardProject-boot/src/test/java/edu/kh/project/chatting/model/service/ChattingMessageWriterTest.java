@@ -0,0 +1,171 @@
+package edu.kh.project.chatting.model.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import edu.kh.project.chatting.model.dto.Message;
+import edu.kh.project.chatting.model.service.ChattingMessageWriter.MessageStore;
+import edu.kh.project.chatting.model.service.ChattingMessageWriter.Mode;
+
+class ChattingMessageWriterTest {
+
+	@Test
+	void acknowledgesOnlyAfterStore() throws Exception {
+
+		Set<String> stored = ConcurrentHashMap.newKeySet();
+
+		ChattingMessageWriter writer = new ChattingMessageWriter(list -> {
+			for (Message msg : list) stored.add(msg.getMessageContent());
+		}, Mode.BATCH, 50, 2, 10_000);
+
+		List<CompletableFuture<Message>> futures = new ArrayList<>();
+
+		for (int i = 0; i < 1000; i++) {
+			futures.add(writer.write(message(i)));
+		}
+
+		for (CompletableFuture<Message> future : futures) {
+			Message msg = future.get(5, TimeUnit.SECONDS);
+			assertTrue(stored.contains(msg.getMessageContent()));
+		}
+
+		assertEquals(1000, writer.getMessageCount());
+		assertTrue(writer.getBatchCount() < 1000); // 묶어서 저장됨
+
+		writer.shutdown();
+	}
+
+	@Test
+	void failedBatchIsRetriedOneByOne() throws Exception {
+
+		// "bad" 가 포함된 묶음은 전체 실패
+		MessageStore store = list -> {
+			for (Message msg : list) {
+				if (msg.getMessageContent().equals("bad")) throw new IllegalStateException("bad message");
+			}
+		};
+
+		ChattingMessageWriter writer = new ChattingMessageWriter(store, Mode.BATCH, 10, 50, 100);
+
+		CompletableFuture<Message> good1 = writer.write(message(1));
+		CompletableFuture<Message> bad = writer.write(Message.builder().messageContent("bad").build());
+		CompletableFuture<Message> good2 = writer.write(message(2));
+
+		assertEquals("1", good1.get(5, TimeUnit.SECONDS).getMessageContent());
+		assertEquals("2", good2.get(5, TimeUnit.SECONDS).getMessageContent());
+		assertTrue(bad.handle((msg, e) -> e != null).get(5, TimeUnit.SECONDS));
+
+		writer.shutdown();
+	}
+
+	@Test
+	void roomSummaryGroupedByRoomAndSender() {
+
+		List<Message> messageList = List.of(
+				Message.builder().chattingRoomNo(9).senderNo(2).messageContent("a").build(),
+				Message.builder().chattingRoomNo(3).senderNo(1).messageContent("b").build(),
+				Message.builder().chattingRoomNo(9).senderNo(2).messageContent("c").build(),
+				Message.builder().chattingRoomNo(9).senderNo(5).messageContent("d").build());
+
+		// 채팅방 번호 순, 채팅방/보낸 회원별 1개
+		assertEquals(List.of(
+				Map.of("chattingRoomNo", 3, "senderNo", 1, "count", 1),
+				Map.of("chattingRoomNo", 9, "senderNo", 2, "count", 2),
+				Map.of("chattingRoomNo", 9, "senderNo", 5, "count", 1)),
+				ChattingMessageWriter.roomSummaryList(messageList));
+	}
+
+
+	/** 메세지별 저장(DIRECT)과 묶음 저장(BATCH) 처리량 비교
+	 *
+	 * - DB 대신 커밋 1회 1ms(로그 기록 대기), 행 1개 5µs 가 걸리는 저장소 사용
+	 *   (커밋은 한 번에 하나씩 -> 실제 DB 의 로그 기록과 같이 직렬화)
+	 * - 실행 : ./gradlew test --tests ChattingMessageWriterTest -Dbenchmark=true
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkDirectVsBatch() throws Exception {
+
+		int producers = 16;
+		int perProducer = 500;
+
+		for (Mode mode : Mode.values()) {
+
+			ChattingMessageWriter writer = new ChattingMessageWriter(simulatedStore(), mode, 200, 2, 100_000);
+
+			long elapsed = run(writer, producers, perProducer);
+
+			System.out.printf("%-6s : %,d messages, %,d commits, %,d ms, %,.0f messages/s%n",
+					mode, writer.getMessageCount(), writer.getBatchCount(),
+					TimeUnit.NANOSECONDS.toMillis(elapsed),
+					writer.getMessageCount() / (elapsed / 1e9));
+
+			writer.shutdown();
+		}
+	}
+
+
+	/** producers 개 스레드가 동시에 메세지를 보내고 모든 저장 완료까지 걸린 시간(ns) */
+	private long run(ChattingMessageWriter writer, int producers, int perProducer) throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+		List<CompletableFuture<Message>> futures = new ArrayList<>();
+
+		long start = System.nanoTime();
+
+		List<Future<List<CompletableFuture<Message>>>> results = new ArrayList<>();
+
+		for (int p = 0; p < producers; p++) {
+			results.add(executor.submit(() -> {
+				List<CompletableFuture<Message>> list = new ArrayList<>();
+				for (int i = 0; i < perProducer; i++) list.add(writer.write(message(i)));
+				return list;
+			}));
+		}
+
+		for (Future<List<CompletableFuture<Message>>> result : results) futures.addAll(result.get());
+
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+
+		long elapsed = System.nanoTime() - start;
+
+		executor.shutdown();
+
+		return elapsed;
+	}
+
+
+	/** 커밋 1회 1ms + 행 1개 5µs, 커밋은 직렬 처리 */
+	private MessageStore simulatedStore() {
+
+		Object commitLock = new Object();
+
+		return list -> {
+			synchronized (commitLock) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1) + list.size() * 5_000L);
+			}
+		};
+	}
+
+
+	private Message message(int i) {
+		return Message.builder().messageContent(String.valueOf(i)).senderNo(1).targetNo(2).chattingRoomNo(1).build();
+	}
+
+}
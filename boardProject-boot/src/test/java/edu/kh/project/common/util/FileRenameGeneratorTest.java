@@ -0,0 +1,115 @@
+package edu.kh.project.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileRenameGeneratorTest {
+
+	private static final int THREADS = 16;
+	private static final int PER_THREAD = 20_000;
+
+	@Test
+	void renamesAreUniqueAcrossThreadsAndNodes() throws Exception {
+
+		// 업로드 폴더를 공유하는 두 서버
+		FileRenameGenerator node1 = new FileRenameGenerator(1);
+		FileRenameGenerator node2 = new FileRenameGenerator(2);
+
+		Set<String> names = ConcurrentHashMap.newKeySet();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++) {
+
+			FileRenameGenerator generator = t % 2 == 0 ? node1 : node2;
+
+			futures.add(executor.submit(() -> {
+				start.await();
+
+				for (int i = 0; i < PER_THREAD; i++) {
+					names.add(generator.rename("짱구.jpg"));
+				}
+				return null;
+			}));
+		}
+
+		// 모든 스레드가 동시에 시작
+		start.countDown();
+
+		for (Future<?> future : futures) future.get();
+
+		executor.shutdown();
+
+		assertEquals(THREADS * PER_THREAD, names.size());
+	}
+
+	@Test
+	void idsIncreaseWithinNode() {
+
+		FileRenameGenerator generator = new FileRenameGenerator(0);
+
+		long prev = generator.nextId();
+
+		for (int i = 0; i < 100_000; i++) {
+			long next = generator.nextId();
+			assertTrue(next > prev);
+			prev = next;
+		}
+	}
+
+	@Test
+	void claimsUnusedNodeIdWhenNotConfigured(@TempDir Path lockPath) throws Exception {
+
+		// 노드 번호 미설정(-1) + 같은 폴더 -> 잠금 파일로 서로 다른 번호 선점
+		FileRenameGenerator node1 = new FileRenameGenerator(-1, lockPath.toString());
+		FileRenameGenerator node2 = new FileRenameGenerator(-1, lockPath.toString());
+
+		try {
+			assertNotEquals(nodeId(node1), nodeId(node2));
+
+			// 반납한 번호는 다시 선점 가능
+			long released = nodeId(node1);
+			node1.releaseNodeId();
+
+			FileRenameGenerator node3 = new FileRenameGenerator(-1, lockPath.toString());
+			assertEquals(released, nodeId(node3));
+			node3.releaseNodeId();
+
+		} finally {
+			node1.releaseNodeId();
+			node2.releaseNodeId();
+		}
+	}
+
+	/** ID 에 담긴 노드 번호 */
+	private long nodeId(FileRenameGenerator generator) {
+		return (generator.nextId() >>> 12) & FileRenameGenerator.MAX_NODE_ID;
+	}
+
+	@Test
+	void keepsExtension() {
+
+		FileRenameGenerator generator = new FileRenameGenerator(0);
+
+		assertTrue(generator.rename("짱구.jpg").matches("\\d{14}_[0-9a-z]+\\.jpg"));
+		assertTrue(generator.rename("noext").matches("\\d{14}_[0-9a-z]+"));
+	}
+
+}
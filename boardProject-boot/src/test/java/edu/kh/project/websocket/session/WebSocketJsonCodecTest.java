@@ -0,0 +1,134 @@
+package edu.kh.project.websocket.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.socket.TextMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kh.project.chatting.model.dto.Message;
+
+class WebSocketJsonCodecTest {
+
+	private static final String PAYLOAD =
+			"{\"senderNo\":1,\"targetNo\":2,\"chattingRoomNo\":8,\"messageContent\":\"안녕!\"}";
+
+	private final WebSocketJsonCodec codec = new WebSocketJsonCodec(new ObjectMapper());
+
+	@Test
+	void decodesAndEncodesMessage() throws Exception {
+
+		Message msg = codec.decode(new TextMessage(PAYLOAD), Message.class);
+
+		assertEquals(1, msg.getSenderNo());
+		assertEquals(2, msg.getTargetNo());
+		assertEquals(8, msg.getChattingRoomNo());
+		assertEquals("안녕!", msg.getMessageContent());
+
+		msg.setSendTime(codec.now());
+
+		Message copy = codec.decode(codec.encode(msg), Message.class);
+
+		assertEquals(msg.getMessageContent(), copy.getMessageContent());
+		assertEquals(msg.getSendTime(), copy.getSendTime());
+		assertTrue(copy.getSendTime().matches("\\d{4}\\.\\d{2}\\.\\d{2} \\d{2}:\\d{2}"));
+	}
+
+	@Test
+	void sharedAcrossThreads() throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int t = 0; t < 8; t++) {
+			int thread = t;
+
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					String content = thread + "-" + i;
+
+					Message msg = Message.builder().messageContent(content).senderNo(thread).build();
+					Message copy = codec.decode(codec.encode(msg), Message.class);
+
+					assertEquals(content, copy.getMessageContent());
+					assertEquals(thread, copy.getSenderNo());
+				}
+				return null;
+			}));
+		}
+
+		for (Future<?> future : futures) future.get();
+
+		executor.shutdown();
+	}
+
+
+	/** 받은 메세지 변환 -> 보낸 시간 설정 -> 보낼 메세지 변환 처리량 비교
+	 *
+	 * - 이전 방식 : 메세지마다 ObjectMapper, SimpleDateFormat 생성
+	 * - codec : 공용 ObjectReader / ObjectWriter / DateTimeFormatter 재사용
+	 * - 실행 : ./gradlew test --tests WebSocketJsonCodecTest -Dbenchmark=true
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkEncodeDecode() throws Exception {
+
+		TextMessage payload = new TextMessage(PAYLOAD);
+
+		int iterations = 200_000;
+
+		for (int round = 0; round < 3; round++) { // 앞의 반복은 JIT 워밍업
+
+			long perMessage = measure(iterations, () -> {
+				ObjectMapper objectMapper = new ObjectMapper();
+				Message msg = objectMapper.readValue(payload.getPayload(), Message.class);
+				msg.setSendTime(new SimpleDateFormat("yyyy.MM.dd hh:mm").format(new Date()));
+				return new TextMessage(objectMapper.writeValueAsString(msg));
+			});
+
+			long shared = measure(iterations, () -> {
+				Message msg = codec.decode(payload, Message.class);
+				msg.setSendTime(codec.now());
+				return codec.encode(msg);
+			});
+
+			System.out.printf("round %d : new ObjectMapper %,d ns/op, codec %,d ns/op%n",
+					round, perMessage / iterations, shared / iterations);
+		}
+	}
+
+
+	@FunctionalInterface
+	private interface Codec {
+		TextMessage run() throws Exception;
+	}
+
+	/** iterations 회 실행 시간(ns) */
+	private long measure(int iterations, Codec codec) throws Exception {
+
+		long length = 0;
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < iterations; i++) length += codec.run().getPayloadLength();
+
+		long elapsed = System.nanoTime() - start;
+
+		assertTrue(length > 0); // 결과 사용 (JIT 제거 방지)
+
+		return elapsed;
+	}
+
+}